@@ -262,6 +262,7 @@ class OAIChatReq(BaseModel):
     stream: Optional[bool] = False
     stop: Optional[List[str]] = None
     user: Optional[str] = None
+    client_history: Optional[bool] = False  # True면 messages에 전체 대화가 있음 → 서버 기록(SESSIONS) 사용/저장 안 함
 
 class TestRunReq(BaseModel):
     suite: Optional[str] = "full"
@@ -1197,7 +1198,7 @@ def chatx(body: 'ChatIn', request: Request):
     )
 
 # --- OpenAI /v1/chat/completions 호환 ---
-def _build_history_and_messages(session_id: str, oai_messages: List[OAIMsg]):
+def _build_history_and_messages(session_id: str, oai_messages: List[OAIMsg], use_server_history: bool = True):
     system = None
     core_msgs = []
     for m in oai_messages:
@@ -1208,7 +1209,7 @@ def _build_history_and_messages(session_id: str, oai_messages: List[OAIMsg]):
     if system is None:
         system = SYSTEM_PROMPT
 
-    hist = list(SESSIONS[session_id])
+    hist = list(SESSIONS[session_id]) if use_server_history else []
     msgs: List[Dict[str, str]] = []
     if system:
         msgs.append({"role": "system", "content": system})
@@ -1217,6 +1218,12 @@ def _build_history_and_messages(session_id: str, oai_messages: List[OAIMsg]):
     msgs.extend(core_msgs)
     return msgs
 
+def _remember_turn(req: OAIChatReq, session_id: str, user_text: str, reply: str) -> None:
+    if req.client_history:
+        return
+    SESSIONS[session_id].append(("user", user_text))
+    SESSIONS[session_id].append(("assistant", reply))
+
 def _oai_token_count(s: str) -> int:
     try:
         return len(tokenizer.encode(s))
@@ -1232,8 +1239,7 @@ def oai_chat_completions(req: OAIChatReq):
     if strict_match(last_user) and not req.stream:
         base = crisis_template_reply()
         reply = finalize_reply(last_user, base) + "\n\n긴급 도움이 필요하면 112/119/1393(자살예방핫라인)에 연락하세요."
-        SESSIONS[session_id].append(("user", last_user))
-        SESSIONS[session_id].append(("assistant", reply))
+        _remember_turn(req, session_id, last_user, reply)
         created = int(time.time())
         resp = {
             "id": "chatcmpl-" + secrets.token_hex(8),
@@ -1258,14 +1264,13 @@ def oai_chat_completions(req: OAIChatReq):
     choice_base = {"index": 0, "finish_reason": "stop", "message": {"role": "assistant", "content": ""}}
 
     if not req.stream:
-        msgs = _build_history_and_messages(session_id, req.messages)
+        msgs = _build_history_and_messages(session_id, req.messages, not req.client_history)
         reply, ptok, ctok = chat_llm_messages(
             msgs, temperature=req.temperature or 0.6,
             top_p=req.top_p or 0.9, max_new_tokens=req.max_tokens or 140
         )
         reply = finalize_reply(last_user, reply)
-        SESSIONS[session_id].append(("user", last_user))
-        SESSIONS[session_id].append(("assistant", reply))
+        _remember_turn(req, session_id, last_user, reply)
         resp = {
             "id": "chatcmpl-" + secrets.token_hex(8),
             "object": "chat.completion",
@@ -1281,8 +1286,7 @@ def oai_chat_completions(req: OAIChatReq):
         def sse_strict():
             base = crisis_template_reply()
             reply = finalize_reply(last_user, base) + "\n\n긴급 도움이 필요하면 112/119/1393(자살예방핫라인)에 연락하세요."
-            SESSIONS[session_id].append(("user", last_user))
-            SESSIONS[session_id].append(("assistant", reply))
+            _remember_turn(req, session_id, last_user, reply)
             header = {
                 "id": "chatcmpl-" + secrets.token_hex(8),
                 "object": "chat.completion.chunk",
@@ -1313,14 +1317,13 @@ def oai_chat_completions(req: OAIChatReq):
         return StreamingResponse(sse_strict(), media_type="text/event-stream")
 
     def sse():
-        msgs = _build_history_and_messages(session_id, req.messages)
+        msgs = _build_history_and_messages(session_id, req.messages, not req.client_history)
         reply, _, _ = chat_llm_messages(
             msgs, temperature=req.temperature or 0.6,
             top_p=req.top_p or 0.9, max_new_tokens=req.max_tokens or 140
         )
         reply_fixed = finalize_reply(last_user, reply)
-        SESSIONS[session_id].append(("user", last_user))
-        SESSIONS[session_id].append(("assistant", reply_fixed))
+        _remember_turn(req, session_id, last_user, reply_fixed)
 
         header = {
             "id": "chatcmpl-" + secrets.token_hex(8),
@@ -3,13 +3,57 @@ package com.example.hyu.assistant;
 import com.example.hyu.dto.chat.MessageDto;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface AssistantClient {
     /**
+     * @param sessionId    채팅 세션 ID (원격 모델 쪽 대화 상태를 세션별로 분리하는 키)
      * @param systemPrompt 세션의 시스템 프롬프트(프로필 기반)
      * @param history      최근 대화(필요 시 일부만 전달)
      * @param userMessage  사용자의 최신 입력
      * @return             어시스턴트의 응답 텍스트
      */
-    String reply(String systemPrompt, List<MessageDto> history, String userMessage);
+    String reply(UUID sessionId, String systemPrompt, List<MessageDto> history, String userMessage);
+
+    /**
+     * 스트리밍 응답: 생성되는 대로 조각(chunk)을 onChunk로 흘려보내고, 끝나면 전체 텍스트를 반환
+     * (기본 구현은 reply 결과를 한 조각으로 전달)
+     *
+     * @param onChunk 응답 조각 콜백 (호출 스레드에서 순서대로 호출)
+     * @return        이어붙인 전체 응답 텍스트
+     */
+    default String stream(UUID sessionId, String systemPrompt, List<MessageDto> history, String userMessage,
+                          Consumer<String> onChunk) {
+        String text = reply(sessionId, systemPrompt, history, userMessage);
+        onChunk.accept(text);
+        return text;
+    }
+
+    /**
+     * 오래된 대화 요약 (이전 요약에 이어서 점진적으로)
+     * 기본 구현은 추출식: 이전 요약 + 사용자 발화의 첫 문장들, 최대 길이로 자름
+     *
+     * @param sessionId       요약 대상 채팅 세션 ID
+     * @param previousSummary 직전 요약 (없으면 null)
+     * @param messages        새로 요약에 넣을 메시지 (오래된 → 최신 순)
+     * @return                갱신된 요약 텍스트
+     */
+    default String summarize(UUID sessionId, String previousSummary, List<MessageDto> messages) {
+        final int maxChars = 1200;
+        StringBuilder sb = new StringBuilder();
+        if (previousSummary != null && !previousSummary.isBlank()) sb.append(previousSummary.trim());
+        for (MessageDto m : messages) {
+            if (!"USER".equals(m.role()) || m.content() == null || m.content().isBlank()) continue;
+            String first = m.content().trim().split("(?<=[.!?。])\\s+|\\n", 2)[0];
+            if (first.length() > 120) first = first.substring(0, 120) + "…";
+            if (!sb.isEmpty()) sb.append('\n');
+            sb.append("- 사용자: ").append(first);
+        }
+        // 너무 길면 오래된 줄부터 버림
+        String text = sb.toString();
+        if (text.length() <= maxChars) return text;
+        int cut = text.indexOf('\n', text.length() - maxChars);
+        return cut < 0 ? text.substring(text.length() - maxChars) : text.substring(cut + 1);
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.hyu.assistant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(AssistantProperties.class)
+public class AssistantConfig {
+
+    // assistant.http.enabled=true 일 때 be2-ai 호출 클라이언트를 기본으로 사용 (실패 시 템플릿 응답)
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "assistant.http.enabled", havingValue = "true")
+    public HttpAssistantClient httpAssistantClient(AssistantProperties props,
+                                                   DummyAssistantClient fallback,
+                                                   MeterRegistry meters) {
+        return new HttpAssistantClient(props, fallback, meters);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hyu.assistant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "assistant.http")
+public record AssistantProperties(
+        Boolean enabled,
+        String baseUrl,
+        String apiKey,
+        String model,
+        Long connectTimeoutMillis,
+        Long requestTimeoutMillis,
+        Integer maxConcurrent,
+        Long acquireTimeoutMillis,
+        Integer failureThreshold,
+        Long openMillis,
+        Integer maxTokens
+) {
+    public Boolean enabled() {
+        return enabled != null ? enabled : Boolean.FALSE;
+    }
+
+    public String baseUrl() {
+        return (baseUrl != null && !baseUrl.isBlank())
+                ? baseUrl.replaceAll("/+$", "")
+                : "http://localhost:8000"; // be2-ai 기본 포트
+    }
+
+    public String apiKey() {
+        return (apiKey != null && !apiKey.isBlank()) ? apiKey : null; // X-API-Key (없으면 생략)
+    }
+
+    public String model() {
+        return (model != null && !model.isBlank()) ? model : null; // 서버 기본 모델 사용
+    }
+
+    public Long connectTimeoutMillis() {
+        return (connectTimeoutMillis != null && connectTimeoutMillis > 0) ? connectTimeoutMillis : 2000L;
+    }
+
+    public Long requestTimeoutMillis() {
+        return (requestTimeoutMillis != null && requestTimeoutMillis > 0) ? requestTimeoutMillis : 30000L; // 호출당 데드라인
+    }
+
+    public Integer maxConcurrent() {
+        return (maxConcurrent != null && maxConcurrent > 0) ? maxConcurrent : 16; // 벌크헤드: 동시 추론 호출 수
+    }
+
+    public Long acquireTimeoutMillis() {
+        return (acquireTimeoutMillis != null && acquireTimeoutMillis >= 0) ? acquireTimeoutMillis : 200L;
+    }
+
+    public Integer failureThreshold() {
+        return (failureThreshold != null && failureThreshold > 0) ? failureThreshold : 5; // 연속 실패 시 차단
+    }
+
+    public Long openMillis() {
+        return (openMillis != null && openMillis > 0) ? openMillis : 30000L; // 차단 유지 시간
+    }
+
+    public Integer maxTokens() {
+        return (maxTokens != null && maxTokens > 0) ? maxTokens : 140;
+    }
+}
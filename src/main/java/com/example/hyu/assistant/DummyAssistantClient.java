@@ -4,12 +4,14 @@ import com.example.hyu.dto.chat.MessageDto;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @Component
 public class DummyAssistantClient implements AssistantClient {
 
     @Override
-    public String reply(String systemPrompt, List<MessageDto> history, String userMessage) {
+    public String reply(UUID sessionId, String systemPrompt, List<MessageDto> history, String userMessage) {
         // 아주 단순한 룰/템플릿 기반 응답 (향후 LLM으로 교체)
         String msg = userMessage == null ? "" : userMessage.trim();
 
@@ -23,4 +25,15 @@ public class DummyAssistantClient implements AssistantClient {
         return "말해 주셔서 고마워요. 말씀하신 내용을 보니 꽤 신경 쓰이는 일이었겠어요. "
                 + "그 상황에서 특히 힘들었던 점 한 가지를 꼽는다면 무엇일까요?";
     }
+
+    @Override
+    public String stream(UUID sessionId, String systemPrompt, List<MessageDto> history, String userMessage,
+                         Consumer<String> onChunk) {
+        // 템플릿 응답을 단어(공백 포함) 단위로 나눠 흘려보냄
+        String text = reply(sessionId, systemPrompt, history, userMessage);
+        for (String word : text.split("(?<= )")) {
+            onChunk.accept(word);
+        }
+        return text;
+    }
 }
@@ -0,0 +1,343 @@
+package com.example.hyu.assistant;
+
+import com.example.hyu.dto.chat.MessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * be2-ai(FastAPI) /v1/chat/completions 호출 클라이언트 (OpenAI 호환 스키마)
+ * - java.net.http.HttpClient 1개 재사용 (커넥션 풀링)
+ * - 블로킹 호출: 호출 스레드가 응답(스트리밍은 응답 헤더 후 본문 줄 단위)을 기다림
+ *   → 요청 스레드가 아닌 전용 풀/가상 스레드에서 부르는 것을 전제로 함
+ * - 호출당 데드라인: requestTimeoutMillis (sendAsync 결과를 그 시간만큼만 대기, 스트리밍은 만료 시 본문 스트림을 닫아 중단)
+ * - 대화 기록은 클라이언트가 전부 보냄 (토큰 예산/요약 반영) → client_history=true 로 be2-ai 서버 측 기록(SESSIONS) 생략
+ *   user 필드는 세션별 고정 값 (be2-ai 로그 구분용, 공용 "default" 방지)
+ * - 벌크헤드: 동시 호출 maxConcurrent, acquireTimeoutMillis 안에 자리 없으면 즉시 폴백
+ * - 서킷 브레이커: 연속 failureThreshold회 실패 시 openMillis 동안 바로 폴백, 이후 1건 시험 호출
+ * - 폴백: 템플릿 응답(DummyAssistantClient)
+ * - 지표: assistant.http.latency{op,outcome} (히스토그램), assistant.http.fallback{reason},
+ *         assistant.http.circuit.open (1=차단)
+ */
+@Slf4j
+public class HttpAssistantClient implements AssistantClient {
+
+    private final AssistantProperties props;
+    private final AssistantClient fallback;
+    private final MeterRegistry meters;
+    private final HttpClient http;
+    private final URI completionsUri;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker breaker;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public HttpAssistantClient(AssistantProperties props, AssistantClient fallback, MeterRegistry meters) {
+        this.props = props;
+        this.fallback = fallback;
+        this.meters = meters;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(props.connectTimeoutMillis()))
+                .build();
+        this.completionsUri = URI.create(props.baseUrl() + "/v1/chat/completions");
+        this.bulkhead = new Semaphore(props.maxConcurrent());
+        this.breaker = new CircuitBreaker(props.failureThreshold(), props.openMillis());
+        meters.gauge("assistant.http.circuit.open", breaker, b -> b.isOpen() ? 1 : 0);
+    }
+
+    @Override
+    public String reply(UUID sessionId, String systemPrompt, List<MessageDto> history, String userMessage) {
+        return call("reply", () -> fallback.reply(sessionId, systemPrompt, history, userMessage),
+                timeoutMillis -> complete(chatUser(sessionId), systemPrompt, history, userMessage, timeoutMillis));
+    }
+
+    @Override
+    public String summarize(UUID sessionId, String previousSummary, List<MessageDto> messages) {
+        StringBuilder input = new StringBuilder();
+        if (previousSummary != null && !previousSummary.isBlank()) {
+            input.append("[이전 요약]\n").append(previousSummary).append("\n\n");
+        }
+        input.append("[새 대화]\n");
+        for (MessageDto m : messages) {
+            input.append("USER".equals(m.role()) ? "사용자: " : "상담사: ").append(m.content()).append('\n');
+        }
+        return call("summarize", () -> AssistantClient.super.summarize(sessionId, previousSummary, messages),
+                timeoutMillis -> complete(summaryUser(sessionId), SUMMARY_PROMPT, List.of(), input.toString(), timeoutMillis));
+    }
+
+    @Override
+    public String stream(UUID sessionId, String systemPrompt, List<MessageDto> history, String userMessage,
+                         Consumer<String> onChunk) {
+        return call("stream", () -> fallback.stream(sessionId, systemPrompt, history, userMessage, onChunk), timeoutMillis -> {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            HttpRequest req = request(chatUser(sessionId), systemPrompt, history, userMessage, true, timeoutMillis);
+            HttpResponse<Stream<String>> res = http.sendAsync(req, HttpResponse.BodyHandlers.ofLines())
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+            StringBuilder text = new StringBuilder();
+            AtomicBoolean expired = new AtomicBoolean(false);
+            try (Stream<String> lines = res.body()) {
+                ensureOk(res.statusCode());
+
+                // 데드라인이 지나면 본문 스트림을 닫아 블로킹 읽기를 끊는다
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                CompletableFuture.delayedExecutor(Math.max(1, remaining), TimeUnit.MILLISECONDS)
+                        .execute(() -> { expired.set(true); lines.close(); });
+
+                Iterator<String> it = lines.iterator();
+                while (it.hasNext()) {
+                    String line = it.next();
+                    if (!line.startsWith("data:")) continue;
+                    String data = line.substring(5).trim();
+                    if ("[DONE]".equals(data)) break;
+
+                    String chunk = objectMapper.readTree(data)
+                            .path("choices").path(0).path("delta").path("content").asText("");
+                    if (chunk.isEmpty()) continue;
+                    text.append(chunk);
+                    onChunk.accept(chunk);
+                }
+            } catch (Exception e) {
+                Exception cause = expired.get() ? new TimeoutException("stream deadline exceeded") : e;
+                // 이미 일부를 보냈으면 템플릿을 덧붙이지 않고 받은 데까지 반환
+                if (!text.isEmpty()) throw new PartialReplyException(text.toString(), cause);
+                throw cause;
+            }
+            if (expired.get()) {
+                if (!text.isEmpty()) throw new PartialReplyException(text.toString(), new TimeoutException("stream deadline exceeded"));
+                throw new TimeoutException("stream deadline exceeded");
+            }
+            if (text.isEmpty()) throw new IOException("empty completion");
+            return text.toString();
+        });
+    }
+
+    // -------------------- 내부 유틸 --------------------
+
+    private static final String SUMMARY_PROMPT =
+            "이전 요약과 새 대화를 합쳐 사용자의 주요 고민, 감정 변화, 지금까지 나눈 제안을 한국어 5줄 이내로 요약하세요.";
+
+    /** OpenAI user 필드: 세션별 고정 값 (client_history=true 라 서버 측 기록에는 쌓이지 않음) */
+    static String chatUser(UUID sessionId) {
+        return "chat-" + sessionId;
+    }
+
+    static String summaryUser(UUID sessionId) {
+        return "chat-" + sessionId + "-summary";
+    }
+
+    /** 비스트리밍 completions 호출 */
+    private String complete(String user, String systemPrompt, List<MessageDto> history, String userMessage,
+                            long timeoutMillis) throws Exception {
+        HttpRequest req = request(user, systemPrompt, history, userMessage, false, timeoutMillis);
+        HttpResponse<String> res = http.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        ensureOk(res.statusCode());
+
+        String content = objectMapper.readTree(res.body())
+                .path("choices").path(0).path("message").path("content").asText("");
+        if (content.isBlank()) throw new IOException("empty completion");
+        return content;
+    }
+
+    @FunctionalInterface
+    private interface RemoteCall {
+        String call(long timeoutMillis) throws Exception;
+    }
+
+    /** 벌크헤드 → 서킷 브레이커 → 원격 호출, 실패 시 폴백 */
+    private String call(String op, Supplier<String> fallbackCall, RemoteCall remote) {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(props.acquireTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) return fallback(op, "bulkhead_full", fallbackCall);
+
+        try {
+            if (!breaker.allowRequest()) return fallback(op, "circuit_open", fallbackCall);
+
+            long start = System.nanoTime();
+            try {
+                String text = remote.call(props.requestTimeoutMillis());
+                breaker.onSuccess();
+                record(op, "success", start);
+                return text;
+            } catch (PartialReplyException e) {
+                breaker.onFailure();
+                record(op, "partial", start);
+                log.warn("assistant {} cut off: {}", op, e.getCause().toString());
+                return e.partial;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                breaker.onFailure();
+                record(op, "error", start);
+                log.warn("assistant {} failed: {}", op, e.toString());
+                return fallback(op, "error", fallbackCall);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private String fallback(String op, String reason, Supplier<String> fallbackCall) {
+        meters.counter("assistant.http.fallback", "op", op, "reason", reason).increment();
+        return fallbackCall.get();
+    }
+
+    private void record(String op, String outcome, long startNanos) {
+        Timer.builder("assistant.http.latency")
+                .tag("op", op)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meters)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private HttpRequest request(String user, String systemPrompt, List<MessageDto> history, String userMessage,
+                                boolean stream, long timeoutMillis) throws IOException {
+        if (user == null) throw new IllegalArgumentException("user (session) required"); // 공용 "default" 기록 방지
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (props.model() != null) body.put("model", props.model());
+        body.put("user", user);
+        body.put("client_history", true); // messages가 전체 대화 → 서버 기록을 앞에 붙이면 중복 전송
+        body.put("messages", toMessages(systemPrompt, history, userMessage));
+        body.put("max_tokens", props.maxTokens());
+        body.put("stream", stream);
+
+        HttpRequest.Builder b = HttpRequest.newBuilder(completionsUri)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .header("Accept", stream ? "text/event-stream" : "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body), StandardCharsets.UTF_8));
+        if (props.apiKey() != null) b.header("X-API-Key", props.apiKey());
+        return b.build();
+    }
+
+    /** system → 과거 대화(user/assistant) → 최신 사용자 입력 순서의 OpenAI 메시지 배열 */
+    private List<Map<String, String>> toMessages(String systemPrompt, List<MessageDto> history, String userMessage) {
+        List<Map<String, String>> out = new ArrayList<>();
+        if (systemPrompt != null && !systemPrompt.isBlank()) {
+            out.add(Map.of("role", "system", "content", systemPrompt));
+        }
+        if (history != null) {
+            int end = history.size();
+            // 방금 저장된 사용자 메시지가 history 끝에 있으면 중복 전송하지 않음
+            if (end > 0 && "USER".equals(history.get(end - 1).role())
+                    && history.get(end - 1).content() != null
+                    && history.get(end - 1).content().equals(userMessage)) {
+                end--;
+            }
+            for (MessageDto m : history.subList(0, end)) {
+                String role = switch (m.role()) {
+                    case "USER" -> "user";
+                    case "ASSISTANT" -> "assistant";
+                    default -> null; // SYSTEM 등은 systemPrompt로 이미 전달
+                };
+                if (role != null && m.content() != null) out.add(Map.of("role", role, "content", m.content()));
+            }
+        }
+        out.add(Map.of("role", "user", "content", userMessage == null ? "" : userMessage));
+        return out;
+    }
+
+    private static void ensureOk(int status) throws IOException {
+        if (status / 100 != 2) throw new IOException("HTTP " + status);
+    }
+
+    /** 스트리밍 도중 끊김: 이미 보낸 부분 응답을 그대로 결과로 사용 */
+    private static final class PartialReplyException extends Exception {
+        private final String partial;
+
+        PartialReplyException(String partial, Throwable cause) {
+            super(cause);
+            this.partial = partial;
+        }
+    }
+
+    /** 연속 실패 기반 단순 서킷 브레이커 (CLOSED → OPEN → 1건 시험 → CLOSED/OPEN) */
+    static final class CircuitBreaker {
+        private final ReentrantLock lock = new ReentrantLock(); // 가상 스레드 pinning 방지
+        private final int threshold;
+        private final long openMillis;
+        private int failures = 0;
+        private long openedAt = -1;
+        private boolean trialInFlight = false;
+
+        CircuitBreaker(int threshold, long openMillis) {
+            this.threshold = threshold;
+            this.openMillis = openMillis;
+        }
+
+        boolean allowRequest() {
+            lock.lock();
+            try {
+                if (openedAt < 0) return true;
+                if (trialInFlight || System.currentTimeMillis() - openedAt < openMillis) return false;
+                trialInFlight = true; // half-open: 한 건만 통과
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onSuccess() {
+            lock.lock();
+            try {
+                failures = 0;
+                openedAt = -1;
+                trialInFlight = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onFailure() {
+            lock.lock();
+            try {
+                failures++;
+                if (trialInFlight || failures >= threshold) {
+                    openedAt = System.currentTimeMillis();
+                    trialInFlight = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isOpen() {
+            lock.lock();
+            try {
+                return openedAt >= 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
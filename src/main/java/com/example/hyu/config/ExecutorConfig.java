@@ -0,0 +1,75 @@
+package com.example.hyu.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // BCrypt 전용 풀: CPU 코어 수만큼만 동시에 해싱, 대기열이 차면 즉시 거절(AbortPolicy)
+    // CPU 작업이라 가상 스레드 모드에서도 플랫폼 스레드 유지
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(@Value("${auth.password.threads:0}") int threads,
+                                                   @Value("${auth.password.queue:64}") int queue) {
+        int size = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                new CustomizableThreadFactory("pwd-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 채팅 스트리밍 풀: 응답 생성 동안 SSE 전송 담당 (요청 스레드/DB 커넥션은 즉시 반환)
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatStreamExecutor(@Value("${chat.stream.threads:32}") int threads,
+                                                 @Value("${chat.stream.queue:100}") int queue,
+                                                 Environment env) {
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                ioThreadFactory(env, "chat-stream-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 대화 요약 풀: 요청 경로 밖에서 실행, 꽉 차면 건너뜀 (다음 턴에 재시도)
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor chatSummaryExecutor(@Value("${chat.summary.threads:2}") int threads,
+                                                  @Value("${chat.summary.queue:200}") int queue,
+                                                  Environment env) {
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                ioThreadFactory(env, "chat-summary-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 위기 신호 기록 풀: 응답 경로 밖에서 저장, 꽉 차면 호출 스레드에서 실행 (기록은 버리지 않음)
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor safetyEventExecutor(@Value("${chat.safety.threads:2}") int threads,
+                                                  @Value("${chat.safety.queue:500}") int queue,
+                                                  Environment env) {
+        int size = Math.max(1, threads);
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                ioThreadFactory(env, "safety-event-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // I/O 대기 위주 풀: 가상 스레드 모드(spring.threads.virtual.enabled + Java 21)면 가상 스레드로 실행
+    // 풀 크기/대기열은 그대로 동시 실행 상한 역할 (가상 스레드 모드에서는 threads 값을 크게 잡음)
+    private static ThreadFactory ioThreadFactory(Environment env, String prefix) {
+        if (Threading.VIRTUAL.isActive(env)) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(prefix);
+    }
+}
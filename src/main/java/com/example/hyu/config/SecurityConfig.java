@@ -1,6 +1,5 @@
 package com.example.hyu.config;
 
-import com.example.hyu.repository.UserRepository;
 import com.example.hyu.security.CustomAccessDeniedHandler;
 import com.example.hyu.security.JwtAuthenticationEntryPoint;
 import com.example.hyu.security.JwtAuthenticationFilter;
@@ -8,6 +7,7 @@ import com.example.hyu.security.JwtProperties;
 import com.example.hyu.security.JwtTokenProvider;
 import com.example.hyu.security.SuspensionGuardFilter;
 import com.example.hyu.service.TokenStoreService;
+import com.example.hyu.service.UserStatusCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -47,8 +47,8 @@ class SecurityConfig {
 
     // 정지/탈퇴 전역 차단 필터
     @Bean
-    public SuspensionGuardFilter suspensionGuardFilter(UserRepository userRepository){
-        return new SuspensionGuardFilter(userRepository);
+    public SuspensionGuardFilter suspensionGuardFilter(UserStatusCache userStatusCache){
+        return new SuspensionGuardFilter(userStatusCache);
     }
 
     @Bean
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 import java.time.Instant;
@@ -56,6 +57,16 @@ public class GlobalExceptionHandler {
                 "message", e.getMessage()));
     }
 
+    // 상태코드를 지정해 던진 예외 (400/404/429/503 등) → 그 상태 그대로
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleStatus(ResponseStatusException e) {
+        HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+        return ResponseEntity.status(e.getStatusCode()).body(Map.of(
+                "timestamp", Instant.now().toString(),
+                "error", status != null ? status.name() : String.valueOf(e.getStatusCode().value()),
+                "message", e.getReason() != null ? e.getReason() : ""));
+    }
+
     // 그 외
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleEtc(Exception e) {
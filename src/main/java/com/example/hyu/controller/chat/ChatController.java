@@ -3,17 +3,21 @@ package com.example.hyu.controller.chat;
 
 import com.example.hyu.dto.chat.CreateSessionResponse;
 import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.dto.chat.MessageSliceResponse;
 import com.example.hyu.dto.chat.SendMessageRequest;
 import com.example.hyu.dto.chat.SessionDto;
+import com.example.hyu.dto.chat.SessionInboxResponse;
 import com.example.hyu.security.AuthPrincipal;
 import com.example.hyu.service.chat.ChatService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
@@ -37,6 +41,14 @@ public class ChatController {
         return chatService.list(me.getUserId(), PageRequest.of(page, size));
     }
 
+    // 세션 인박스: 커서 페이지 + 마지막 메시지 미리보기/메시지 수
+    @GetMapping("/inbox")
+    public SessionInboxResponse inbox(@AuthenticationPrincipal AuthPrincipal me,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return chatService.inbox(me.getUserId(), cursor, size);
+    }
+
     @GetMapping("/{id}/messages")
     public Page<MessageDto> messages(@AuthenticationPrincipal AuthPrincipal me,
                                      @PathVariable UUID id,
@@ -45,10 +57,28 @@ public class ChatController {
         return chatService.getMessages(me.getUserId(), id, PageRequest.of(page, size));
     }
 
+    // 커서 기반 메시지 조회 (before: 과거 방향, after: 최신 방향, 둘 다 없으면 최신 페이지)
+    @GetMapping("/{id}/messages/scroll")
+    public MessageSliceResponse scroll(@AuthenticationPrincipal AuthPrincipal me,
+                                       @PathVariable UUID id,
+                                       @RequestParam(required = false) String before,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(defaultValue = "50") int size) {
+        return chatService.scrollMessages(me.getUserId(), id, before, after, size);
+    }
+
     @PostMapping("/{id}/messages")
     public MessageDto send(@AuthenticationPrincipal AuthPrincipal me,
                            @PathVariable UUID id,
                            @Valid @RequestBody SendMessageRequest req) {
         return chatService.send(me.getUserId(), id, req.content());
     }
-}
\ No newline at end of file
+
+    // 토큰 단위 SSE 응답 (event: delta / done / error)
+    @PostMapping(value = "/{id}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter sendStream(@AuthenticationPrincipal AuthPrincipal me,
+                                 @PathVariable UUID id,
+                                 @Valid @RequestBody SendMessageRequest req) {
+        return chatService.sendStream(me.getUserId(), id, req.content());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hyu.controller.kpi;
+
+import com.example.hyu.dto.kpi.AggregationBenchmarkRes;
+import com.example.hyu.service.kpi.MetricsJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 집계 방식 비교: 기존(지표별 COUNT) vs 단일 스캔(조건부 집계) 쿼리 수/소요시간
+ * - 요청 스레드에서 일/월/연 구간을 runs회씩 전체 스캔 → debug 프로필에서만 등록
+ *   (예: --spring.profiles.active=dev,debug), runs는 최대 MetricsJob.MAX_BENCHMARK_RUNS
+ */
+@Profile("debug")
+@RestController
+@RequiredArgsConstructor
+public class AdminMetricsBenchmarkController {
+    private final MetricsJob job;
+
+    @PostMapping("/api/admin/metrics/debug/benchmark")
+    public List<AggregationBenchmarkRes> benchmark(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @RequestParam(defaultValue = "3") int runs
+    ) {
+        return job.benchmark(day, runs);
+    }
+}
@@ -316,6 +316,16 @@ public class AdminMetricsController {
         return ResponseEntity.ok("Daily recompute done for " + day);
     }
 
+    // 일별 기간 재집계 (월/연 증분 롤업에 필요한 일별 사용자 비트맵 백필용, 최대 MetricsJob.MAX_BACKFILL_DAYS일)
+    @PostMapping("/recompute/daily-range")
+    public ResponseEntity<String> recomputeDailyRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        metricsJob.computeDailyRange(from, to);
+        return ResponseEntity.ok("Daily recompute done for " + from + " ~ " + to);
+    }
+
     @PostMapping("/recompute/monthly")
     public ResponseEntity<String> recomputeMonthly(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate monthStart
@@ -11,6 +11,7 @@ public record CmsAssessmentRes(
         String name, // 검사 이름
         String category, // 검사 카테고리
         Assessment.Status status, // 활성/비활성 여부
+        Integer scaleMax, // 문항 응답 최대값
         boolean deleted, //삭제 여부
         Instant deletedAt // 삭제 시각
 ) {}
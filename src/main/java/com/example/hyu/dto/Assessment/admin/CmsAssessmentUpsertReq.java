@@ -1,6 +1,8 @@
 package com.example.hyu.dto.Assessment.admin;
 
 import com.example.hyu.entity.Assessment;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -10,5 +12,6 @@ public record CmsAssessmentUpsertReq(
         @NotBlank String name,        // 검사 이름
         @NotBlank String category,    // 카테고리
         @Size(max = 200)String description, // 설명
-        Assessment.Status status       // ACTIVE / ARCHIVED
+        Assessment.Status status,      // ACTIVE / ARCHIVED
+        @Min(1) @Max(10) Integer scaleMax // 문항 응답 최대값 (PHQ9/GAD7: 3, PSS: 4), 생성 시 미입력이면 3
 ) {}
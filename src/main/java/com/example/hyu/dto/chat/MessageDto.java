@@ -1,5 +1,7 @@
 package com.example.hyu.dto.chat;
 
+import com.example.hyu.entity.ChatMessage;
+
 import java.time.Instant;
 
 public record MessageDto(
@@ -7,4 +9,9 @@ public record MessageDto(
         String role,     // USER / ASSISTANT / SYSTEM
         String content,
         Instant createdAt
-) {}
\ No newline at end of file
+) {
+    // JPQL 생성자 프로젝션용 (select new ...MessageDto(m.id, m.role, m.content, m.createdAt))
+    public MessageDto(Long id, ChatMessage.Role role, String content, Instant createdAt) {
+        this(id, role.name(), content, createdAt);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.hyu.dto.chat;
+
+import java.util.List;
+
+public record MessageSliceResponse(
+        List<MessageDto> items,   // 오래된 → 최신 순
+        String beforeCursor,      // 이 페이지보다 과거를 볼 때 before= 로 전달 (items가 비면 null)
+        String afterCursor,       // 이 페이지 이후(새 메시지)를 볼 때 after= 로 전달 (items가 비면 null)
+        boolean hasMore           // 조회한 방향(기본/before: 과거, after: 최신)에 더 있는지
+) {}
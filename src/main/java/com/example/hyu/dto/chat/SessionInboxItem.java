@@ -0,0 +1,20 @@
+package com.example.hyu.dto.chat;
+
+import com.example.hyu.entity.ChatSession;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SessionInboxItem(
+        UUID id,
+        String status,               // OPEN / CLOSED
+        Instant updatedAt,
+        String lastMessagePreview,   // 마지막 대화 메시지 앞부분 (없으면 null)
+        long messageCount            // USER/ASSISTANT 메시지 수
+) {
+    // JPQL 생성자 프로젝션용
+    public SessionInboxItem(UUID id, ChatSession.Status status, Instant updatedAt,
+                            String lastMessagePreview, long messageCount) {
+        this(id, status.name(), updatedAt, lastMessagePreview, messageCount);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.hyu.dto.chat;
+
+import java.util.List;
+
+public record SessionInboxResponse(
+        List<SessionInboxItem> items,
+        String nextCursor,   // 다음 페이지 요청 시 cursor= 로 전달 (없으면 null)
+        boolean hasMore
+) {}
@@ -0,0 +1,19 @@
+package com.example.hyu.dto.kpi;
+
+// =====================
+// 집계 방식 비교(legacy vs fused) 결과
+// =====================
+
+import java.time.LocalDate;
+
+public record AggregationBenchmarkRes(
+        String window,               // <구간 종류> daily / monthly / yearly
+        LocalDate from,              // <구간 시작> KST 기준 (포함)
+        LocalDate to,                // <구간 끝> KST 기준 (미포함)
+        int runs,                    // <반복 횟수>
+        long legacyQueries,          // <기존 방식 쿼리 수> 1회 집계당
+        double legacyAvgMillis,      // <기존 방식 평균 소요시간(ms)>
+        long fusedQueries,           // <단일 스캔 방식 쿼리 수> 1회 집계당
+        double fusedAvgMillis,       // <단일 스캔 방식 평균 소요시간(ms)>
+        boolean identical            // <결과 일치 여부> 두 방식의 지표 값이 모두 같은지
+) {}
@@ -0,0 +1,11 @@
+package com.example.hyu.dto.user;
+
+import com.example.hyu.entity.Users;
+
+import java.time.Instant;
+
+// 정지/탈퇴 가드용 최소 프로젝션 (비밀번호/재설정 필드 제외)
+public record UserStatusView(
+        Users.UserState state,
+        Instant suspendUntil
+) {}
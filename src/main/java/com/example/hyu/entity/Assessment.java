@@ -2,6 +2,7 @@ package com.example.hyu.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -47,6 +48,12 @@ public class Assessment extends BaseTimeEntity {
     @Builder.Default
     private Status status = Status.ACTIVE;
 
+    // 문항 응답 최대값 (0~scaleMax, 역문항은 scaleMax - value) — PHQ-9/GAD-7: 3, PSS: 4
+    @Column(name="scale_max", nullable=false)
+    @ColumnDefault("3")
+    @Builder.Default
+    private Integer scaleMax = 3;
+
     @OneToMany(mappedBy="assessment", cascade=CascadeType.ALL, orphanRemoval=true)
     @OrderBy("orderNo ASC")
     @Builder.Default
@@ -20,7 +20,7 @@ import lombok.*;
 @NoArgsConstructor(access=AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@org.hibernate.annotations.Check(constraints = "selected_value BETWEEN 0 AND 3") //점수값 범위(0~3) 보장
+@org.hibernate.annotations.Check(constraints = "selected_value >= 0") //상한은 검사별 scaleMax (서비스에서 검증)
 public class AssessmentAnswer extends BaseTimeEntity { //사용자가 각 문항에서 선택한 문항을 나타내는 엔티티
 
     @Id
@@ -28,10 +28,9 @@ public class AssessmentAnswer extends BaseTimeEntity { //사용자가 각 문항
     private Long id;  // PK, 응답 고유번호
 
     @Column(nullable=false)
-    @jakarta.validation.constraints.Min(0) //최솟값 0
-    @jakarta.validation.constraints.Max(3) //최댓값 3
+    @jakarta.validation.constraints.Min(0) //최솟값 0 (최댓값은 검사별 scaleMax)
     private Integer selectedValue;
-    // 사용자가 선택한 값 (0~3)
+    // 사용자가 선택한 값 (0~scaleMax)
 
     @Column(length=100)
     private String rawAnswer;
@@ -51,8 +50,8 @@ public class AssessmentAnswer extends BaseTimeEntity { //사용자가 각 문항
     //문항별 응답을 바꿀 때 쓰는 메서드
     public void revise(int value, String raw){
         //값 검증
-        if(value < 0 || value > 3){
-            throw new IllegalArgumentException("selectedValue must be 0~3");
+        if(value < 0){
+            throw new IllegalArgumentException("selectedValue must be >= 0");
         }
         this.selectedValue = value;
         this.rawAnswer = raw;
@@ -5,6 +5,7 @@ import lombok.*;
 import org.hibernate.annotations.Comment;
 
 import java.time.Instant;
+import java.util.List;
 
 @Entity
 @Table(
@@ -27,9 +28,11 @@ public class ChatMessage {
     @Column(nullable = false)
     private Long userId;
 
+    // varchar 고정: Hibernate 6.2+ 기본 매핑은 MySQL enum(...)이라 역할 추가 시 ddl-auto update로 바뀌지 않음
+    // (기존 enum 컬럼은 README의 수동 마이그레이션 필요, 그 전까지 ChatSummarizer가 요약을 끔)
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 16)
-    private Role role; // USER, ASSISTANT, SYSTEM
+    @Column(nullable = false, length = 16, columnDefinition = "varchar(16)")
+    private Role role; // USER, ASSISTANT, SYSTEM, SUMMARY
 
     @Lob
     @Column(nullable = false, columnDefinition = "text")
@@ -39,7 +42,10 @@ public class ChatMessage {
     @Column(nullable = false)
     private Instant createdAt;
 
-    public enum Role { USER, ASSISTANT, SYSTEM }
+    public enum Role { USER, ASSISTANT, SYSTEM, SUMMARY } // SUMMARY: 오래된 대화 요약 (컨텍스트 전용)
+
+    /** 실제 대화로 취급하는 역할 (컨텍스트/요약 대상) */
+    public static final List<Role> DIALOG_ROLES = List.of(Role.USER, Role.ASSISTANT);
 
     @PrePersist
     void onCreate() {
@@ -0,0 +1,50 @@
+package com.example.hyu.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Comment;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 콜드 세션 메시지 보관 (chat_messages에서 옮겨온 청크 단위, gzip JSON)
+ * - 세션당 여러 청크, firstMessageId 순으로 이어 붙이면 원래 순서
+ * - 세션을 다시 열면 chat_messages로 복원 후 삭제
+ */
+@Entity
+@Table(
+        name = "chat_message_archive",
+        indexes = { @Index(name = "idx_archive_session", columnList = "sessionId, firstMessageId") }
+)
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ChatMessageArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID sessionId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Comment("청크의 첫/마지막 메시지 ID")
+    @Column(nullable = false)
+    private Long firstMessageId;
+
+    @Column(nullable = false)
+    private Long lastMessageId;
+
+    @Column(nullable = false)
+    private int messageCount;
+
+    @Lob
+    @Comment("gzip(JSON 배열) 메시지 원문")
+    @Column(nullable = false, columnDefinition = "longblob")
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -2,13 +2,20 @@ package com.example.hyu.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Comment;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "chat_sessions")
+@Table(
+        name = "chat_sessions",
+        indexes = {
+                @Index(name = "idx_session_user_updated", columnList = "userId, updatedAt, id"),
+                @Index(name = "idx_session_archive", columnList = "archiveState, updatedAt")
+        }
+)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ChatSession {
 
@@ -30,8 +37,28 @@ public class ChatSession {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Comment("마지막 요약에 포함된 메시지 ID (이후 메시지만 원문으로 컨텍스트에 사용)")
+    private Long summaryCheckpointId;
+
+    @Comment("마지막 대화 메시지 미리보기 (목록 화면용 비정규화)")
+    @Column(length = 200)
+    private String lastMessagePreview;
+
+    @Comment("USER/ASSISTANT 메시지 수 (목록 화면용 비정규화)")
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long messageCount = 0L;
+
+    @Comment("보관 상태 (null: 메시지가 chat_messages에 있음)")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ArchiveState archiveState;
+
     public enum Status { OPEN, CLOSED }
 
+    public enum ArchiveState { ARCHIVING, ARCHIVED } // ARCHIVING: 청크 이동 중 (중단 시 다음 실행에서 이어서)
+
     @PrePersist
     void onCreate() {
         Instant now = Instant.now();
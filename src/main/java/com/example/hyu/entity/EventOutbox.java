@@ -0,0 +1,65 @@
+package com.example.hyu.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * events 적재 대기열 (트랜잭셔널 아웃박스)
+ * - 업무 트랜잭션 안에서 INSERT → 커밋된 이벤트만 남고, 롤백되면 함께 사라짐
+ * - EventOutboxService.relay()가 id 순으로 모아 events에 멀티 로우 INSERT IGNORE 후 삭제
+ * - idempotencyKey는 업무 키(제출 ID 등)에서 결정적으로 생성 → 재전송돼도 events에는 한 번만
+ */
+@Entity
+@Table(
+        name = "event_outbox",
+        uniqueConstraints = { @UniqueConstraint(name = "uk_outbox_idem", columnNames = "idempotencyKey") }
+)
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class EventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private String eventName;
+
+    @Column(nullable = false, columnDefinition = "datetime(3)")
+    private LocalDateTime eventTime;   // UTC (events.eventTime과 동일 규칙)
+
+    @Column(nullable = false)
+    private String status;
+
+    private String level;
+
+    private String sessionId;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    @Column(columnDefinition = "json")
+    private String meta;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /** events 행으로 변환 (relay 전용) */
+    public Event toEvent() {
+        Event e = new Event();
+        e.setUserId(userId);
+        e.setEventName(eventName);
+        e.setEventTime(eventTime);
+        e.setStatus(status);
+        e.setLevel(level);
+        e.setSessionId(sessionId);
+        e.setIdempotencyKey(idempotencyKey);
+        e.setMeta(meta);
+        e.setCreatedAt(createdAt);
+        return e;
+    }
+}
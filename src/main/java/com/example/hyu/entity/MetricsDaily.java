@@ -49,6 +49,16 @@ public class MetricsDaily {
     private Long checkinCount;
     // 하루 동안 자가진단 완료 건수 등 체크인 수
 
+    @Lob
+    @Column(name = "active_user_set", columnDefinition = "mediumblob")
+    private byte[] activeUserSet;
+    // 하루 동안 활동한 사용자 id 집합 (UserIdBitmap 압축 바이트), 월/연 MAU·YAU 합집합 계산용
+
+    @Lob
+    @Column(name = "ai_active_user_set", columnDefinition = "mediumblob")
+    private byte[] aiActiveUserSet;
+    // 하루 동안 AI 상담을 이용한 사용자 id 집합
+
     @Column(name = "computed_at", nullable = false)
     private Instant computedAt;
     // 집계가 생성된 시각 (배치가 돌 때 기록)
@@ -31,16 +31,18 @@ public interface AssessmentAnswerRepository extends JpaRepository<AssessmentAnsw
     Optional<AssessmentAnswer> findBySubmissionIdAndQuestionId(Long submissionId, Long questionId);
     boolean existsBySubmissionIdAndQuestionId(Long submissionId, Long questionId);
 
-    // 합계 점수 계산 : 역문항 반영해서 db에 바로 합산
+    // 채점용 (문항ID, 값)만 조회 : 역문항/합산/완료 검증은 AssessmentScorer가 메모리에서 처리
+    interface AnswerValue {
+        Long getQuestionId();
+        Integer getValue();
+    }
+
     @Query("""
-            select coalesce(
-                       sum(case when q.reverseScore = true then (3 - a.selectedValue) else a.selectedValue end)
-                            ,0)
+            select a.question.id as questionId, a.selectedValue as value
             from AssessmentAnswer a
-            join a.question q
             where a.submission.id = :submissionId
            """)
-    Integer sumTotalScore(@Param("submissionId") Long submissionId);
+    List<AnswerValue> findValuesBySubmissionId(@Param("submissionId") Long submissionId);
 
     long countBySubmissionId(Long submissionId);
 
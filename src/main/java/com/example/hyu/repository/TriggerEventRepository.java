@@ -0,0 +1,7 @@
+package com.example.hyu.repository;
+
+import com.example.hyu.entity.TriggerEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TriggerEventRepository extends JpaRepository<TriggerEvent, Long> {
+}
@@ -1,7 +1,10 @@
 package com.example.hyu.repository;
 
+import com.example.hyu.dto.user.UserStatusView;
 import com.example.hyu.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
@@ -13,4 +16,8 @@ public interface UserRepository extends JpaRepository<Users, Long> {
 
     //비번 재설정 필요하고, 토큰 아직 만료되지 않은 사용자들만 조회
     List<Users> findAllByNeedPasswordResetTrueAndPasswordResetExpiresAtAfter(Instant now);
+
+    // 상태 가드용: state/suspendUntil 두 컬럼만 조회
+    @Query("select new com.example.hyu.dto.user.UserStatusView(u.state, u.suspendUntil) from Users u where u.id = :id")
+    Optional<UserStatusView> findStatusById(@Param("id") Long id);
 }
@@ -0,0 +1,19 @@
+package com.example.hyu.repository.chat;
+
+import com.example.hyu.entity.ChatMessageArchive;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ChatMessageArchiveRepository extends JpaRepository<ChatMessageArchive, Long> {
+
+    // 복원용: 잠금 읽기(FOR UPDATE) → 직전에 커밋된 청크까지 빠짐없이 조회
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from ChatMessageArchive a where a.sessionId = :sessionId order by a.firstMessageId asc")
+    List<ChatMessageArchive> findForRestore(@Param("sessionId") UUID sessionId);
+}
@@ -1,13 +1,107 @@
 package com.example.hyu.repository.chat;
 
+import com.example.hyu.dto.chat.MessageDto;
 import com.example.hyu.entity.ChatMessage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     Page<ChatMessage> findBySession_IdAndUserIdOrderByCreatedAtAsc(UUID sessionId, Long userId, Pageable pageable);
     boolean existsBySession_IdAndUserId(UUID sessionId, Long userId);
-}
\ No newline at end of file
+
+    // 화면 목록용 (SUMMARY는 컨텍스트 전용이라 제외)
+    Page<ChatMessage> findBySession_IdAndUserIdAndRoleNotOrderByCreatedAtAsc(UUID sessionId, Long userId, ChatMessage.Role role, Pageable pageable);
+
+    // 세션의 고정 SYSTEM 프롬프트 (최초 1건)
+    Optional<ChatMessage> findFirstBySession_IdAndRoleOrderByCreatedAtAsc(UUID sessionId, ChatMessage.Role role);
+
+    // 최신 요약 메시지
+    Optional<ChatMessage> findFirstBySession_IdAndRoleOrderByIdDesc(UUID sessionId, ChatMessage.Role role);
+
+    // 요약 체크포인트 이후 대화 수
+    long countBySession_IdAndRoleInAndIdGreaterThan(UUID sessionId, Collection<ChatMessage.Role> roles, Long afterId);
+
+    // 요약 대상: 체크포인트 이후 오래된 순
+    @Query("""
+            select new com.example.hyu.dto.chat.MessageDto(m.id, m.role, m.content, m.createdAt)
+            from ChatMessage m
+            where m.session.id = :sessionId and m.role in :roles and m.id > :afterId
+            order by m.id asc
+            """)
+    List<MessageDto> findDialogAfter(@Param("sessionId") UUID sessionId, @Param("roles") Collection<ChatMessage.Role> roles,
+                                     @Param("afterId") Long afterId, Pageable pageable);
+
+    // 컨텍스트용 최신순 대화 (체크포인트 이후, COUNT 없는 Slice)
+    @Query("""
+            select new com.example.hyu.dto.chat.MessageDto(m.id, m.role, m.content, m.createdAt)
+            from ChatMessage m
+            where m.session.id = :sessionId and m.userId = :userId and m.role in :roles and m.id > :afterId
+            order by m.createdAt desc, m.id desc
+            """)
+    Slice<MessageDto> findRecentDialog(@Param("sessionId") UUID sessionId, @Param("userId") Long userId,
+                                       @Param("roles") Collection<ChatMessage.Role> roles,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    // 위 쿼리의 다음 페이지: (createdAt, id) 키셋으로 더 과거 조회
+    @Query("""
+            select new com.example.hyu.dto.chat.MessageDto(m.id, m.role, m.content, m.createdAt)
+            from ChatMessage m
+            where m.session.id = :sessionId and m.userId = :userId and m.role in :roles and m.id > :afterId
+              and (m.createdAt < :beforeAt or (m.createdAt = :beforeAt and m.id < :beforeId))
+            order by m.createdAt desc, m.id desc
+            """)
+    Slice<MessageDto> findRecentDialogBefore(@Param("sessionId") UUID sessionId, @Param("userId") Long userId,
+                                             @Param("roles") Collection<ChatMessage.Role> roles,
+                                             @Param("afterId") Long afterId,
+                                             @Param("beforeAt") Instant beforeAt, @Param("beforeId") Long beforeId,
+                                             Pageable pageable);
+
+    // ---- 화면 목록용 키셋 페이지 (idx_msg_session_created 탐색, 세션 연관관계 로딩 없음) ----
+
+    // 최신 페이지
+    @Query("""
+            select new com.example.hyu.dto.chat.MessageDto(m.id, m.role, m.content, m.createdAt)
+            from ChatMessage m
+            where m.session.id = :sessionId and m.userId = :userId and m.role <> :hidden
+            order by m.createdAt desc, m.id desc
+            """)
+    List<MessageDto> findLatestPage(@Param("sessionId") UUID sessionId, @Param("userId") Long userId,
+                                    @Param("hidden") ChatMessage.Role hidden, Pageable pageable);
+
+    // 커서보다 과거 (최신 → 과거 순)
+    @Query("""
+            select new com.example.hyu.dto.chat.MessageDto(m.id, m.role, m.content, m.createdAt)
+            from ChatMessage m
+            where m.session.id = :sessionId and m.userId = :userId and m.role <> :hidden
+              and (m.createdAt < :at or (m.createdAt = :at and m.id < :id))
+            order by m.createdAt desc, m.id desc
+            """)
+    List<MessageDto> findPageBefore(@Param("sessionId") UUID sessionId, @Param("userId") Long userId,
+                                    @Param("hidden") ChatMessage.Role hidden,
+                                    @Param("at") Instant at, @Param("id") Long id, Pageable pageable);
+
+    // 커서보다 최신 (과거 → 최신 순)
+    @Query("""
+            select new com.example.hyu.dto.chat.MessageDto(m.id, m.role, m.content, m.createdAt)
+            from ChatMessage m
+            where m.session.id = :sessionId and m.userId = :userId and m.role <> :hidden
+              and (m.createdAt > :at or (m.createdAt = :at and m.id > :id))
+            order by m.createdAt asc, m.id asc
+            """)
+    List<MessageDto> findPageAfter(@Param("sessionId") UUID sessionId, @Param("userId") Long userId,
+                                   @Param("hidden") ChatMessage.Role hidden,
+                                   @Param("at") Instant at, @Param("id") Long id, Pageable pageable);
+
+    // 보관 작업: 세션 메시지를 오래된 순으로 청크 조회
+    List<ChatMessage> findBySession_IdOrderByIdAsc(UUID sessionId, Pageable pageable);
+}
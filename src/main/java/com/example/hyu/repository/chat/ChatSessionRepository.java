@@ -1,12 +1,113 @@
 package com.example.hyu.repository.chat;
 
+import com.example.hyu.dto.chat.SessionInboxItem;
 import com.example.hyu.entity.ChatSession;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ChatSessionRepository extends JpaRepository<ChatSession, UUID> {
     Page<ChatSession> findByUserIdOrderByUpdatedAtDesc(Long userId, Pageable pageable);
+    boolean existsByIdAndUserId(UUID id, Long userId);
+
+    // 세션 로드 없이 updatedAt + 목록용 비정규화 컬럼(미리보기, 메시지 수) 갱신
+    @Modifying
+    @Query("""
+            update ChatSession s
+            set s.updatedAt = :now, s.lastMessagePreview = :preview, s.messageCount = s.messageCount + :added
+            where s.id = :id
+            """)
+    int recordMessages(@Param("id") UUID id, @Param("now") Instant now,
+                       @Param("preview") String preview, @Param("added") long added);
+
+    // ---- 보관(아카이브) ----
+
+    // 보관 대상: 오래 쉬고 있는 세션 (idx_session_archive)
+    @Query("""
+            select s.id from ChatSession s
+            where s.archiveState is null and s.updatedAt < :cutoff
+            order by s.updatedAt asc
+            """)
+    List<UUID> findArchiveCandidates(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Query("select s.id from ChatSession s where s.archiveState = :state")
+    List<UUID> findIdsByArchiveState(@Param("state") ChatSession.ArchiveState state, Pageable pageable);
+
+    // 닫기 + 보관 시작 (그 사이 대화가 이어졌으면 0건)
+    @Modifying
+    @Query("""
+            update ChatSession s
+            set s.status = :closed, s.archiveState = :archiving
+            where s.id = :id and s.archiveState is null and s.updatedAt < :cutoff
+            """)
+    int claimForArchive(@Param("id") UUID id, @Param("cutoff") Instant cutoff,
+                        @Param("closed") ChatSession.Status closed,
+                        @Param("archiving") ChatSession.ArchiveState archiving);
+
+    @Modifying
+    @Query("""
+            update ChatSession s set s.archiveState = :to
+            where s.id = :id and s.archiveState = :from
+            """)
+    int changeArchiveState(@Param("id") UUID id,
+                           @Param("from") ChatSession.ArchiveState from,
+                           @Param("to") ChatSession.ArchiveState to);
+
+    // 청크 이동 중 복원과 엇갈리지 않도록 세션 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChatSession s where s.id = :id")
+    Optional<ChatSession> findForUpdate(@Param("id") UUID id);
+
+    @Query("select s.archiveState from ChatSession s where s.id = :id and s.userId = :userId")
+    Optional<ChatSession.ArchiveState> findArchiveState(@Param("id") UUID id, @Param("userId") Long userId);
+
+    // 복원: 다시 활성 세션으로 (updatedAt 갱신 → 바로 다시 보관되지 않음)
+    @Modifying
+    @Query("""
+            update ChatSession s
+            set s.archiveState = null, s.status = :open, s.updatedAt = :now
+            where s.id = :id and s.userId = :userId and s.archiveState is not null
+            """)
+    int unarchive(@Param("id") UUID id, @Param("userId") Long userId,
+                  @Param("open") ChatSession.Status open, @Param("now") Instant now);
+
+    // ---- 세션 인박스 키셋 페이지 (idx_session_user_updated 탐색, 메시지 테이블 접근 없음) ----
+
+    @Query("""
+            select new com.example.hyu.dto.chat.SessionInboxItem(
+                s.id, s.status, s.updatedAt, s.lastMessagePreview, s.messageCount)
+            from ChatSession s
+            where s.userId = :userId
+            order by s.updatedAt desc, s.id desc
+            """)
+    List<SessionInboxItem> findInboxFirst(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            select new com.example.hyu.dto.chat.SessionInboxItem(
+                s.id, s.status, s.updatedAt, s.lastMessagePreview, s.messageCount)
+            from ChatSession s
+            where s.userId = :userId
+              and (s.updatedAt < :at or (s.updatedAt = :at and s.id < :id))
+            order by s.updatedAt desc, s.id desc
+            """)
+    List<SessionInboxItem> findInboxAfter(@Param("userId") Long userId,
+                                          @Param("at") Instant at, @Param("id") UUID id, Pageable pageable);
+
+    // 요약 체크포인트 전진 (다른 요약 작업이 먼저 갱신했으면 0건 → 무시)
+    @Modifying
+    @Query("""
+            update ChatSession s set s.summaryCheckpointId = :next
+            where s.id = :id and coalesce(s.summaryCheckpointId, 0) = :prev
+            """)
+    int advanceSummaryCheckpoint(@Param("id") UUID id, @Param("prev") Long prev, @Param("next") Long next);
 }
\ No newline at end of file
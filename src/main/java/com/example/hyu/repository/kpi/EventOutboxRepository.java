@@ -0,0 +1,20 @@
+package com.example.hyu.repository.kpi;
+
+import com.example.hyu.entity.EventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EventOutboxRepository extends JpaRepository<EventOutbox, Long> {
+
+    // 오래된 순으로 한 묶음 잠금 (다른 노드의 relay가 잡은 행은 건너뜀)
+    @Query(value = """
+            SELECT * FROM event_outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EventOutbox> lockBatch(@Param("limit") int limit);
+}
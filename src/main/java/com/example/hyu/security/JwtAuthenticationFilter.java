@@ -41,34 +41,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain chain) throws ServletException, IOException {
 
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (!(StringUtils.hasText(header) && header.toLowerCase().startsWith("Bearer "))){
+        if (!(StringUtils.hasText(header) && header.regionMatches(true, 0, "Bearer ", 0, 7))){
             chain.doFilter(request, response);
             return;
         }
 
+        // 토큰은 한 번만 검증/파싱 (동일 토큰은 만료 전까지 캐시 사용)
         String token = header.substring(7).trim();
-        if (!jwtTokenProvider.isValid(token)) {
+        TokenClaims claims = jwtTokenProvider.parseClaims(token).orElse(null);
+        if (claims == null) {
             chain.doFilter(request, response);
             return;
         }
 
         // ★ Access 토큰 블랙리스트(JTI) 확인 (서버측 로그아웃/무효화)
-        String jti = jwtTokenProvider.getJti(token).orElse(null);
+        String jti = claims.jti();
         if (jti != null && tokenStoreService.isBlacklisted(jti)) {
             chain.doFilter(request, response);
             return;
         }
 
-        var userIdOpt = jwtTokenProvider.getUserId(token);
-        var roleOpt   = jwtTokenProvider.getRole(token);
-        var emailOpt  = jwtTokenProvider.getEmail(token);
-
-        if (userIdOpt.isPresent() && roleOpt.isPresent()) {
-            String role = normalizeRole(roleOpt.orElse("ROLE_USER")); // 안전하게 ROLE_ 표준화
+        if (claims.userId() != null && claims.role() != null) {
+            String role = normalizeRole(claims.role()); // 안전하게 ROLE_ 표준화
             List<SimpleGrantedAuthority> auths = List.of(new SimpleGrantedAuthority(role));
 
             // ★ 우리 프로젝트의 주체 타입(컨트롤러에서 @AuthenticationPrincipal로 받음)
-            AuthPrincipal principal = new AuthPrincipal(userIdOpt.get(), emailOpt.orElse(null), role);
+            AuthPrincipal principal = new AuthPrincipal(claims.userId(), claims.email(), role);
 
             AbstractAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(principal, null, auths);
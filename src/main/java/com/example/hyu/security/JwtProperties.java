@@ -9,7 +9,8 @@ public record JwtProperties(
         Long refreshValidityMillis,
         String refreshCookieName,
         String refreshCookieDomain,
-        Boolean refreshCookieSecure
+        Boolean refreshCookieSecure,
+        Integer claimsCacheSize
 ) {
     public String secret() {
         return (secret == null || secret.isBlank())
@@ -46,4 +47,10 @@ public record JwtProperties(
                 ? refreshCookieSecure
                 : Boolean.FALSE;
     }
+
+    public Integer claimsCacheSize() {
+        return (claimsCacheSize != null && claimsCacheSize >= 0)
+                ? claimsCacheSize
+                : 10000; // 0이면 캐시 끔
+    }
 }
@@ -1,11 +1,15 @@
 package com.example.hyu.security;
 
+import com.example.hyu.support.ExpiringLruCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -14,6 +18,8 @@ public class JwtTokenProvider {
     private final SecretKey key;             // HS256
     private final long validityMillis;       // Access 토큰 유효기간(ms)
     private final SecureRandom rnd = new SecureRandom();
+    private final JwtParser parser;          // 스레드 세이프 → 한 번만 생성
+    private final ExpiringLruCache<String, TokenClaims> claimsCache; // sha256(token) → 검증된 클레임 (null이면 캐시 끔)
 
     public JwtTokenProvider(JwtProperties props) {
         String secret = (props != null) ? props.secret() : null;
@@ -28,6 +34,14 @@ public class JwtTokenProvider {
             this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)); // >=32 bytes 권장
         }
         this.validityMillis = validity;
+        this.parser = Jwts.parser().verifyWith(key).build();
+
+        Integer size = (props != null) ? props.claimsCacheSize() : null;
+        int cacheSize = (size != null) ? size : 10000;
+        // 항목은 토큰 exp 시각에 만료되므로 ttl은 토큰 유효기간이면 충분
+        this.claimsCache = (cacheSize > 0)
+                ? new ExpiringLruCache<>(cacheSize, Duration.ofMillis(validity))
+                : null;
     }
 
     public String createToken(Long userId, String role, String email) {
@@ -53,7 +67,43 @@ public class JwtTokenProvider {
     }
 
     public Jws<Claims> parse(String token) throws JwtException {
-        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        return parser.parseSignedClaims(token);
+    }
+
+    /**
+     * 서명/만료 검증 후 클레임을 한 번에 반환 (유효하지 않으면 empty)
+     * - 같은 토큰은 exp 전까지 캐시에서 바로 반환 (HMAC 검증/JSON 디코드 생략)
+     * - 캐시 키는 토큰 원문이 아닌 SHA-256 해시
+     */
+    public Optional<TokenClaims> parseClaims(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+
+        String cacheKey = (claimsCache != null) ? sha256(token) : null;
+        if (cacheKey != null) {
+            TokenClaims cached = claimsCache.get(cacheKey);
+            if (cached != null) return Optional.of(cached);
+        }
+
+        TokenClaims claims;
+        try {
+            Claims payload = parse(token).getPayload();
+            String sub = payload.getSubject();
+            Date exp = payload.getExpiration();
+            claims = new TokenClaims(
+                    (sub == null || sub.isBlank()) ? null : Long.valueOf(sub),
+                    payload.get("role", String.class),
+                    payload.get("email", String.class),
+                    payload.getId(),
+                    (exp == null) ? null : exp.toInstant()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (cacheKey != null && claims.expiresAt() != null) {
+            claimsCache.put(cacheKey, claims, claims.expiresAt().toEpochMilli());
+        }
+        return Optional.of(claims);
     }
 
     public boolean isValid(String token) {
@@ -96,6 +146,15 @@ public class JwtTokenProvider {
         return r.startsWith("ROLE_") ? r : "ROLE_" + r;
     }
 
+    private static String sha256(String token) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(d);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private String randomId() {
         byte[] b = new byte[16]; rnd.nextBytes(b);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(b);
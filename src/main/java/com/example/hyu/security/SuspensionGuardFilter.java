@@ -1,7 +1,7 @@
 package com.example.hyu.security;
 
 import com.example.hyu.entity.Users;
-import com.example.hyu.repository.UserRepository;
+import com.example.hyu.service.UserStatusCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,7 +17,7 @@ import java.time.Instant;
 @RequiredArgsConstructor
 public class SuspensionGuardFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
+    private final UserStatusCache userStatusCache; // (state, suspendUntil) 캐시 → 요청당 DB 조회 생략
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -25,12 +25,12 @@ public class SuspensionGuardFilter extends OncePerRequestFilter {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.getPrincipal() instanceof AuthPrincipal principal) {
-            userRepository.findById(principal.getUserId()).ifPresent(u -> {
+            userStatusCache.get(principal.getUserId()).ifPresent(u -> {
                 Instant now = Instant.now();
 
-                boolean withdrawn = u.getState() == Users.UserState.WITHDRAWN;
-                boolean suspended = u.getState() == Users.UserState.SUSPENDED &&
-                        (u.getSuspendUntil() == null || u.getSuspendUntil().isAfter(now));
+                boolean withdrawn = u.state() == Users.UserState.WITHDRAWN;
+                boolean suspended = u.state() == Users.UserState.SUSPENDED &&
+                        (u.suspendUntil() == null || u.suspendUntil().isAfter(now));
 
                 if (withdrawn || suspended) {
                     SecurityContextHolder.clearContext();
@@ -0,0 +1,14 @@
+package com.example.hyu.security;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증을 통과한 Access 토큰의 클레임 (한 번 파싱해서 필터/서비스가 공유)
+ */
+public record TokenClaims(
+        Long userId,
+        String role,
+        String email,
+        String jti,
+        Instant expiresAt
+) {}
@@ -0,0 +1,218 @@
+package com.example.hyu.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access 토큰 블랙리스트(blk:{jti})의 노드 로컬 사본
+ * - 로컬 맵: jti → 만료 시각(ms). 토큰 TTL이 지나면 자연히 제거
+ * - 새 항목은 blk:events 채널로 모든 노드에 전파, 놓친 메시지는 주기적 SCAN 재동기화로 보정
+ * - 로컬 "없음"은 아래가 모두 참일 때만 신뢰, 아니면 Redis EXISTS 직접 조회
+ *   · blk:events 구독이 확인됨 (SubscriptionListener) + 컨테이너가 수신 중
+ *   · 구독 이후 시작한 재동기화가 성공함 (구독 전/끊긴 동안 놓친 메시지 보정)
+ *   · 마지막 재동기화가 resync 주기의 2배 이내
+ * - 구독 해제/끊김, 잘못된 메시지를 받으면 다음 재동기화 성공 전까지 Redis 직접 조회
+ * - 재동기화(SCAN)는 항상 스케줄러 스레드에서 실행 → 공용 리스너 컨테이너의 구독/수신 스레드를 막지 않음
+ * - 지표: auth.blacklist.redis.saved (생략한 EXISTS 수), auth.blacklist.redis.lookups (실제 조회 수)
+ */
+@Slf4j
+@Component
+public class AccessBlacklistCache {
+
+    static final String CHANNEL = "blk:events";
+    private static final String PREFIX = "blk:";
+    private static final int TTL_BATCH = 500;
+
+    // SCAN 한 묶음의 남은 TTL(ms)을 한 번에 조회 (-2: 없음, -1: TTL 없음)
+    @SuppressWarnings("unchecked") // 정수 배열 응답 → List<Long> (DefaultRedisScript는 Class<T>만 받음)
+    private static final DefaultRedisScript<List<Long>> PTTL_ALL = new DefaultRedisScript<>("""
+            local r = {}
+            for i, k in ipairs(KEYS) do r[i] = redis.call('PTTL', k) end
+            return r
+            """, (Class<List<Long>>) (Class<?>) List.class);
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listeners;
+    private final TaskScheduler scheduler;
+    private final boolean enabled;
+    private final long maxStalenessMillis;
+
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile long lastSyncMillis = 0L;
+    private volatile boolean subscribed = false;      // 구독 확인 여부
+    private volatile long subscribedAtMillis = Long.MAX_VALUE;
+
+    private final Counter saved;
+    private final Counter lookups;
+
+    public AccessBlacklistCache(StringRedisTemplate redis,
+                                RedisMessageListenerContainer listeners,
+                                TaskScheduler scheduler,
+                                MeterRegistry meters,
+                                @Value("${auth.blacklist.near-cache:true}") boolean enabled,
+                                @Value("${auth.blacklist.resync-ms:60000}") long resyncMillis) {
+        this.redis = redis;
+        this.listeners = listeners;
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.maxStalenessMillis = Math.max(1000, resyncMillis) * 2;
+        this.saved = meters.counter("auth.blacklist.redis.saved");
+        this.lookups = meters.counter("auth.blacklist.redis.lookups");
+        meters.gauge("auth.blacklist.local.size", entries, Map::size);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (!enabled) return;
+        listeners.addMessageListener(new Listener(), new ChannelTopic(CHANNEL));
+        resyncSoon(); // 기동 스레드도 SCAN으로 붙잡지 않음
+    }
+
+    /** 메시지 수신 + 구독 상태 추적 (컨테이너가 SubscriptionListener 구현체에 구독/해제를 알림) */
+    private final class Listener implements MessageListener, SubscriptionListener {
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            AccessBlacklistCache.this.onMessage(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onChannelSubscribed(byte[] channel, long count) {
+            subscribedAtMillis = System.currentTimeMillis();
+            subscribed = true;
+            resyncSoon(); // 구독 전에 놓쳤을 수 있는 항목 보정 → 성공해야 로컬 "없음" 신뢰
+        }
+
+        @Override
+        public void onChannelUnsubscribed(byte[] channel, long count) {
+            distrust();
+        }
+    }
+
+    /** 재동기화를 스케줄러 스레드로 넘김 (리스너 컨테이너 스레드에서 SCAN 하지 않음) */
+    private void resyncSoon() {
+        try {
+            scheduler.schedule(this::resync, Instant.now());
+        } catch (Exception e) {
+            // 다음 주기 재동기화까지 Redis 직접 조회
+            log.warn("blacklist resync not scheduled: {}", e.getMessage());
+        }
+    }
+
+    private void distrust() {
+        subscribed = false;
+        subscribedAtMillis = Long.MAX_VALUE;
+    }
+
+    /** 로컬 사본이 "없음"을 판단할 만큼 최신인가 */
+    private boolean trustLocalMiss(long now) {
+        return enabled
+                && subscribed
+                && listeners.isListening()
+                && lastSyncMillis >= subscribedAtMillis
+                && now - lastSyncMillis <= maxStalenessMillis;
+    }
+
+    /** 블랙리스트 추가를 로컬에 반영하고 다른 노드에 알림 (Redis SET 이후 호출) */
+    public void publish(String jti, long expiresAtMillis) {
+        entries.put(jti, expiresAtMillis);
+        if (!enabled) return;
+        try {
+            redis.convertAndSend(CHANNEL, jti + "|" + expiresAtMillis);
+        } catch (Exception e) {
+            // 다른 노드는 다음 재동기화 때 반영
+            log.warn("blacklist publish failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isBlacklisted(String jti) {
+        if (jti == null) return false;
+
+        long now = System.currentTimeMillis();
+        Long exp = entries.get(jti);
+        if (exp != null) {
+            if (exp > now) {
+                saved.increment();
+                return true;
+            }
+            entries.remove(jti, exp);
+        }
+
+        // 로컬 사본이 최신이면 "없음"을 그대로 신뢰 (대부분의 요청)
+        if (trustLocalMiss(now)) {
+            saved.increment();
+            return false;
+        }
+
+        lookups.increment();
+        return Boolean.TRUE.equals(redis.hasKey(PREFIX + jti));
+    }
+
+    private void onMessage(String body) {
+        int sep = body.lastIndexOf('|');
+        if (sep <= 0) return;
+        try {
+            entries.put(body.substring(0, sep), Long.parseLong(body.substring(sep + 1)));
+        } catch (NumberFormatException e) {
+            // 놓친 항목이 있을 수 있음 → 다음 재동기화 전까지 Redis 직접 조회
+            lastSyncMillis = 0L;
+            log.warn("invalid blacklist message: {}", body);
+        }
+    }
+
+    /** blk:* 전체를 SCAN 해서 로컬 사본 보정 + 만료 항목 정리 */
+    @Scheduled(fixedDelayString = "${auth.blacklist.resync-ms:60000}", initialDelayString = "${auth.blacklist.resync-ms:60000}")
+    public void resync() {
+        if (!enabled) return;
+        long started = System.currentTimeMillis();
+        try (Cursor<String> keys = redis.scan(ScanOptions.scanOptions().match(PREFIX + "*").count(TTL_BATCH).build())) {
+            List<String> batch = new ArrayList<>(TTL_BATCH);
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == TTL_BATCH) {
+                    loadTtls(batch, started);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) loadTtls(batch, started);
+            lastSyncMillis = started;
+        } catch (Exception e) {
+            log.warn("blacklist resync failed: {}", e.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(exp -> exp <= now);
+    }
+
+    // 묶음 TTL 조회 1회 왕복 → 로컬 만료 시각 반영
+    private void loadTtls(List<String> keys, long started) {
+        List<Long> ttls = redis.execute(PTTL_ALL, keys);
+        if (ttls == null) return;
+        for (int i = 0; i < keys.size() && i < ttls.size(); i++) {
+            long ttl = ttls.get(i);
+            if (ttl == -2) continue;                                // 그 사이 만료
+            long exp = (ttl < 0) ? Long.MAX_VALUE : started + ttl;  // -1: TTL 없음
+            entries.put(keys.get(i).substring(PREFIX.length()), exp);
+        }
+    }
+}
@@ -7,11 +7,12 @@ import com.example.hyu.dto.AdminUserPage.UserSummaryResponse;
 import com.example.hyu.entity.Users;
 import com.example.hyu.repository.AdminUserPage.AdminUserQueryRepository;
 import com.example.hyu.repository.UserRepository;
+import com.example.hyu.service.PasswordHashingService;
+import com.example.hyu.service.UserStatusCache;
 import com.example.hyu.support.MailSender;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +29,8 @@ public class AdminUserService {
     private final AdminUserQueryRepository queryRepository;
     private final UserRepository userRepository;
     private final MailSender mailSender; // 콘솔 스텁 가능(아래 참고)
+    private final UserStatusCache userStatusCache;
+    private final PasswordHashingService passwordHashingService;
 
     /* 목록 + 필터 */
     @Transactional(readOnly = true)
@@ -63,6 +66,7 @@ public class AdminUserService {
             u.setState(Users.UserState.ACTIVE);
             u.setSuspendUntil(null);
         }
+        userStatusCache.evict(u.getId()); // 커밋 후 모든 노드의 상태 캐시 제거 → 즉시 반영
 
         if (req.riskLevel() != null && !req.riskLevel().isBlank()) {
             try{
@@ -138,7 +142,7 @@ public class AdminUserService {
         // ------------------------------
         // 3) 새 토큰 생성 + 저장 (30분 유효)
         String rawToken   = generateToken(48);
-        String tokenHash  = new BCryptPasswordEncoder().encode(rawToken);
+        String tokenHash  = passwordHashingService.encode(rawToken);
         Instant expiresAt = now.plus(30, ChronoUnit.MINUTES);
 
         u.setPasswordResetTokenHash(tokenHash);
@@ -0,0 +1,59 @@
+package com.example.hyu.service.Assessment;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * assessment_answers 다건 업서트 (멀티 로우 VALUES, 한 번의 왕복)
+ * - uk_answer_submission_question 충돌 시 값/라벨/수정시각만 갱신 → 기존 응답 사전 조회 불필요
+ * - 호출 측 JPA 트랜잭션과 같은 커넥션에서 실행
+ */
+@Component
+@RequiredArgsConstructor
+public class AssessmentAnswerBatchWriter {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 200;
+    private static final String UPSERT_HEAD = """
+        INSERT INTO assessment_answers(
+          submission_id, question_id, selected_value, raw_answer, created_at, updated_at
+        ) VALUES\s""";
+    private static final String ROW = "(?,?,?,?,?,?)";
+    private static final String UPSERT_TAIL = """
+        \sON DUPLICATE KEY UPDATE
+          selected_value = VALUES(selected_value),
+          raw_answer = VALUES(raw_answer),
+          updated_at = VALUES(updated_at)""";
+
+    private final JdbcTemplate jdbc;
+
+    public record Row(Long questionId, Integer value, String rawAnswer) {}
+
+    public void upsert(Long submissionId, List<Row> rows) {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Row> chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder(UPSERT_HEAD);
+            List<Object> args = new ArrayList<>(chunk.size() * 6);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) sql.append(',');
+                sql.append(ROW);
+
+                Row r = chunk.get(i);
+                args.add(submissionId);
+                args.add(r.questionId());
+                args.add(r.value());
+                args.add(r.rawAnswer());
+                args.add(now);
+                args.add(now);
+            }
+            sql.append(UPSERT_TAIL);
+            jdbc.update(sql.toString(), args.toArray());
+        }
+    }
+}
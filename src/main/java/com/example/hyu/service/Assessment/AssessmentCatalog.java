@@ -0,0 +1,170 @@
+package com.example.hyu.service.Assessment;
+
+import com.example.hyu.entity.Assessment;
+import com.example.hyu.repository.Assessment.AssessmentQuestionRepository;
+import com.example.hyu.repository.Assessment.AssessmentRangeRepository;
+import com.example.hyu.repository.Assessment.AssessmentRepository;
+import com.example.hyu.support.AfterCommit;
+import com.example.hyu.support.ExpiringLruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검사/문항/점수 구간 읽기 캐시 (검사별 불변 스냅샷, read-through)
+ * - 내용은 CMS 수정 때만 바뀜 → 수정 트랜잭션에서 bumpVersion()
+ *   커밋 후 Redis asmt:catalog:ver INCR + asmt:catalog 채널로 새 버전 전파 → 모든 노드가 비움
+ * - 전파 유실 대비: check-ms 마다 버전 키 확인, ttl-seconds 지나면 어차피 재적재
+ * - 적재 중 무효화가 끼면 적재 결과를 버림 (오래된 스냅샷이 남지 않도록)
+ * - 호출 측은 트랜잭션을 열기 전에 조회 (UserAssessmentService) → 적재가 추가 커넥션을 잡지 않음
+ *   트랜잭션 안의 미스는 그 트랜잭션으로 읽되 캐시하지 않음 (REPEATABLE READ 스냅샷이 무효화 이전일 수 있음)
+ * - 없는 검사(empty)는 캐시하지 않음 → 생성 직후 조회가 TTL 동안 "없음"으로 남지 않음
+ */
+@Slf4j
+@Component
+public class AssessmentCatalog {
+
+    static final String VERSION_KEY = "asmt:catalog:ver";
+    static final String CHANNEL = "asmt:catalog";
+
+    private final AssessmentRepository assessmentRepo;
+    private final AssessmentQuestionRepository questionRepo;
+    private final AssessmentRangeRepository rangeRepo;
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listeners;
+
+    private final ExpiringLruCache<Long, Optional<AssessmentSnapshot>> byId;
+    private final ExpiringLruCache<String, Long> activeIdByCode;
+    private final AtomicLong generation = new AtomicLong(); // 로컬 무효화 횟수
+    private volatile long version = -1;                     // 마지막으로 반영한 전역 버전
+
+    public AssessmentCatalog(AssessmentRepository assessmentRepo,
+                             AssessmentQuestionRepository questionRepo,
+                             AssessmentRangeRepository rangeRepo,
+                             StringRedisTemplate redis,
+                             RedisMessageListenerContainer listeners,
+                             @Value("${assessment.catalog.ttl-seconds:600}") long ttlSeconds,
+                             @Value("${assessment.catalog.max-size:1000}") int maxSize) {
+        this.assessmentRepo = assessmentRepo;
+        this.questionRepo = questionRepo;
+        this.rangeRepo = rangeRepo;
+        this.redis = redis;
+        this.listeners = listeners;
+        Duration ttl = Duration.ofSeconds(Math.max(1, ttlSeconds));
+        this.byId = new ExpiringLruCache<>(Math.max(1, maxSize), ttl);
+        this.activeIdByCode = new ExpiringLruCache<>(Math.max(1, maxSize), ttl);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listeners.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                onVersion(Long.parseLong(body));
+            } catch (NumberFormatException e) {
+                log.warn("invalid catalog version message: {}", body);
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+
+    /** 검사 스냅샷 (삭제된 검사는 empty, 비활성 여부는 호출 측에서 판단) */
+    public Optional<AssessmentSnapshot> find(Long assessmentId) {
+        Optional<AssessmentSnapshot> cached = byId.get(assessmentId);
+        if (cached != null) return cached;
+
+        long gen = generation.get();
+        Optional<AssessmentSnapshot> loaded = load(assessmentId);
+        if (loaded.isPresent() && cacheable()) {
+            byId.put(assessmentId, loaded);
+            if (generation.get() != gen) byId.invalidate(assessmentId); // 적재 중 무효화됨
+        }
+        return loaded;
+    }
+
+    public Optional<AssessmentSnapshot> findActiveByCode(String code) {
+        Long id = activeIdByCode.get(code);
+        if (id == null) {
+            long gen = generation.get();
+            id = assessmentRepo.findByCodeAndStatus(code, Assessment.Status.ACTIVE)
+                    .map(Assessment::getId)
+                    .orElse(null);
+            if (id == null) return Optional.empty();
+            if (cacheable()) {
+                activeIdByCode.put(code, id);
+                if (generation.get() != gen) activeIdByCode.invalidate(code);
+            }
+        }
+        return find(id).filter(AssessmentSnapshot::isActive);
+    }
+
+    /** CMS 수정 트랜잭션 안에서 호출 → 커밋 후 전 노드 무효화 (트랜잭션 밖이면 즉시) */
+    public void bumpVersion() {
+        AfterCommit.run(() -> {
+            clearLocal();
+            try {
+                Long next = redis.opsForValue().increment(VERSION_KEY);
+                if (next != null) {
+                    version = next;
+                    redis.convertAndSend(CHANNEL, String.valueOf(next));
+                }
+            } catch (Exception e) {
+                // 다른 노드는 TTL 만료 시 갱신
+                log.warn("catalog version publish failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /** pub/sub 유실 대비 버전 확인 */
+    @Scheduled(fixedDelayString = "${assessment.catalog.check-ms:30000}", initialDelayString = "${assessment.catalog.check-ms:30000}")
+    public void checkVersion() {
+        try {
+            String v = redis.opsForValue().get(VERSION_KEY);
+            onVersion(v == null ? 0L : Long.parseLong(v));
+        } catch (Exception e) {
+            log.warn("catalog version check failed: {}", e.getMessage());
+        }
+    }
+
+    private void onVersion(long v) {
+        if (v == version) return;
+        boolean first = version < 0;
+        version = v;
+        if (!first) clearLocal();
+    }
+
+    private void clearLocal() {
+        generation.incrementAndGet();
+        byId.clear();
+        activeIdByCode.clear();
+    }
+
+    /** 트랜잭션 밖에서 읽은 결과만 캐시 (트랜잭션 스냅샷은 마지막 무효화보다 오래됐을 수 있음) */
+    private static boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private Optional<AssessmentSnapshot> load(Long assessmentId) {
+        return assessmentRepo.findById(assessmentId).map(a -> new AssessmentSnapshot(
+                a.getId(), a.getCode(), a.getName(), a.getCategory(), a.getDescription(), a.getStatus(),
+                a.getScaleMax() == null ? 3 : a.getScaleMax(),
+                questionRepo.findByAssessmentIdOrderByOrderNoAsc(assessmentId).stream()
+                        .map(q -> new AssessmentSnapshot.Question(q.getId(), q.getOrderNo(), q.getText(), q.isReverseScore()))
+                        .toList(),
+                rangeRepo.findByAssessmentIdOrderByMinScoreAsc(assessmentId).stream()
+                        .map(r -> new AssessmentSnapshot.Band(r.getMinScore(), r.getMaxScore(), r.getLevel(),
+                                r.getLabelKo(), r.getSummaryKo(), r.getAdviceKo()))
+                        .toList()
+        ));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hyu.service.Assessment;
+
+import com.example.hyu.repository.Assessment.AssessmentAnswerRepository.AnswerValue;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 제출 채점 (DB 집계 없이 스냅샷 + 응답 값만으로 계산)
+ * - 문항 순서 인덱스의 int[]에 값을 채우고, 역문항은 scaleMax - value 로 뒤집어 합산
+ * - 빈 칸이 남으면 미완료, 총점은 스냅샷의 점수 구간으로 매핑
+ */
+public final class AssessmentScorer {
+
+    private static final int UNANSWERED = -1;
+
+    public record Result(int total, AssessmentSnapshot.Band band) {}
+
+    private AssessmentScorer() {}
+
+    public static Result score(AssessmentSnapshot snapshot, List<? extends AnswerValue> answers) {
+        int n = snapshot.getQuestions().size();
+        int[] values = new int[n];
+        Arrays.fill(values, UNANSWERED);
+
+        for (AnswerValue a : answers) {
+            int i = snapshot.indexOf(a.getQuestionId());
+            if (i < 0) continue; // 문항 교체 전에 저장된 응답은 채점 제외
+            if (!snapshot.isValidValue(a.getValue())) {
+                throw new IllegalArgumentException("selectedValue must be 0~" + snapshot.getScaleMax());
+            }
+            values[i] = a.getValue();
+        }
+
+        int answered = 0;
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            int v = values[i];
+            if (v == UNANSWERED) continue;
+            answered++;
+            total += snapshot.isReverse(i) ? snapshot.getScaleMax() - v : v;
+        }
+        if (answered != n) {
+            throw new IllegalStateException("not all questions answered: answered=" + answered + ", total=" + n);
+        }
+
+        final int score = total;
+        AssessmentSnapshot.Band band = snapshot.findBand(score)
+                .orElseThrow(() -> new IllegalStateException("score band not defined for score: " + score));
+        return new Result(score, band);
+    }
+}
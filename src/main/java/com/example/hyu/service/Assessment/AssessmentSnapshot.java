@@ -0,0 +1,98 @@
+package com.example.hyu.service.Assessment;
+
+import com.example.hyu.entity.Assessment;
+import com.example.hyu.entity.AssessmentSubmission;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 검사 1건의 불변 스냅샷 (AssessmentCatalog 캐시 단위)
+ * - 문항: orderNo 오름차순, 역문항 여부 포함
+ * - 점수 구간: minScore 오름차순 + int[] 이진 탐색으로 구간 조회
+ * - 척도: 문항 응답 0~scaleMax (PHQ-9/GAD-7: 3, PSS: 4)
+ */
+@Getter
+public final class AssessmentSnapshot {
+
+    public record Question(Long id, int orderNo, String text, boolean reverseScore) {}
+
+    public record Band(int minScore, int maxScore, AssessmentSubmission.RiskLevel level,
+                       String labelKo, String summaryKo, String adviceKo) {}
+
+    private final Long id;
+    private final String code;
+    private final String name;
+    private final String category;
+    private final String description;
+    private final Assessment.Status status;
+    private final int scaleMax;
+    private final List<Question> questions;
+    private final List<Band> bands;
+
+    @Getter(AccessLevel.NONE) private final Map<Long, Integer> questionIndex; // 문항ID → questions 인덱스
+    @Getter(AccessLevel.NONE) private final boolean[] reverse;                // 인덱스별 역문항 여부
+    @Getter(AccessLevel.NONE) private final int[] bandMins;
+    @Getter(AccessLevel.NONE) private final int[] bandMaxs;
+
+    public AssessmentSnapshot(Long id, String code, String name, String category, String description,
+                              Assessment.Status status, int scaleMax, List<Question> questions, List<Band> bands) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.category = category;
+        this.description = description;
+        this.status = status;
+        this.scaleMax = scaleMax;
+        this.questions = questions.stream()
+                .sorted((a, b) -> Integer.compare(a.orderNo(), b.orderNo()))
+                .toList();
+        this.questionIndex = new HashMap<>(this.questions.size() * 2);
+        this.reverse = new boolean[this.questions.size()];
+        for (int i = 0; i < this.questions.size(); i++) {
+            Question q = this.questions.get(i);
+            questionIndex.put(q.id(), i);
+            reverse[i] = q.reverseScore();
+        }
+        this.bands = bands.stream()
+                .sorted((a, b) -> Integer.compare(a.minScore(), b.minScore()))
+                .toList();
+        this.bandMins = this.bands.stream().mapToInt(Band::minScore).toArray();
+        this.bandMaxs = this.bands.stream().mapToInt(Band::maxScore).toArray();
+    }
+
+    public boolean isActive() {
+        return status == Assessment.Status.ACTIVE;
+    }
+
+    public boolean contains(Long questionId) {
+        return questionIndex.containsKey(questionId);
+    }
+
+    /** 문항의 순서 인덱스 (0부터, 소속 문항이 아니면 -1) */
+    public int indexOf(Long questionId) {
+        Integer i = questionIndex.get(questionId);
+        return i == null ? -1 : i;
+    }
+
+    public boolean isReverse(int index) {
+        return reverse[index];
+    }
+
+    public boolean isValidValue(Integer value) {
+        return value != null && value >= 0 && value <= scaleMax;
+    }
+
+    /** 총점이 속한 구간 (minScore <= score 인 마지막 구간의 maxScore까지) */
+    public Optional<Band> findBand(int score) {
+        int i = Arrays.binarySearch(bandMins, score);
+        if (i < 0) i = -i - 2; // 삽입 위치 - 1
+        if (i < 0 || score > bandMaxs[i]) return Optional.empty();
+        return Optional.of(bands.get(i));
+    }
+}
@@ -24,6 +24,7 @@ public class CmsAssessmentService {
     private final AssessmentRepository assessmentRepo;
     private final AssessmentQuestionRepository questionRepo;
     private final AssessmentRangeRepository rangeRepo;
+    private final AssessmentCatalog catalog; // 사용자 조회용 캐시 → 수정 시 버전 올림
 
     /* =========================
        검사(Assessment)
@@ -45,6 +46,7 @@ public class CmsAssessmentService {
                 .category(req.category())
                 .description(req.description())
                 .status(status)
+                .scaleMax(Optional.ofNullable(req.scaleMax()).orElse(3))
                 .build();
 
         return assessmentRepo.save(a).getId();
@@ -69,6 +71,8 @@ public class CmsAssessmentService {
         if (req.category() != null) a.setCategory(req.category());
         if (req.description() != null) a.setDescription(req.description());
         if (req.status() != null) a.setStatus(req.status());
+        if (req.scaleMax() != null) a.setScaleMax(req.scaleMax());
+        catalog.bumpVersion();
     }
 
     /** 사용자/일반 목록 (삭제 제외: @Where에 의해 자동) */
@@ -77,7 +81,7 @@ public class CmsAssessmentService {
         return assessmentRepo.findAll(pageable)
                 .map(a -> new CmsAssessmentRes(
                         a.getId(), a.getCode(), a.getName(), a.getCategory(),
-                        a.getStatus(), a.isDeleted(), a.getDeletedAt()
+                        a.getStatus(), a.getScaleMax(), a.isDeleted(), a.getDeletedAt()
                 ));
     }
 
@@ -88,7 +92,7 @@ public class CmsAssessmentService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "assessment not found: " + id));
         return new CmsAssessmentRes(
                 a.getId(), a.getCode(), a.getName(), a.getCategory(),
-                a.getStatus(), a.isDeleted(), a.getDeletedAt()
+                a.getStatus(), a.getScaleMax(), a.isDeleted(), a.getDeletedAt()
         );
     }
 
@@ -98,7 +102,7 @@ public class CmsAssessmentService {
         return assessmentRepo.findAllIncludingDeleted(pageable)
                 .map(a -> new CmsAssessmentRes(
                         a.getId(), a.getCode(), a.getName(), a.getCategory(),
-                        a.getStatus(), a.isDeleted(), a.getDeletedAt()
+                        a.getStatus(), a.getScaleMax(), a.isDeleted(), a.getDeletedAt()
                 ));
     }
 
@@ -109,7 +113,7 @@ public class CmsAssessmentService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "assessment not found: " + id));
         return new CmsAssessmentRes(
                 a.getId(), a.getCode(), a.getName(), a.getCategory(),
-                a.getStatus(), a.isDeleted(), a.getDeletedAt()
+                a.getStatus(), a.getScaleMax(), a.isDeleted(), a.getDeletedAt()
         );
     }
 
@@ -122,6 +126,7 @@ public class CmsAssessmentService {
         a.setDeleted(true);
         a.setDeletedAt(Instant.now());
         a.setStatus(Assessment.Status.ARCHIVED); // 사용자 노출 차단
+        catalog.bumpVersion();
     }
 
     /** 복구(코드로만 가능, UI 버튼은 없어도 유지) */
@@ -132,6 +137,7 @@ public class CmsAssessmentService {
         if (!a.isDeleted()) return; // 멱등
         a.restore();
         // 상태 복원 규칙이 따로 있다면 여기서 처리(예: ARCHIVED 유지)
+        catalog.bumpVersion();
     }
 
     /* =========================
@@ -174,6 +180,7 @@ public class CmsAssessmentService {
                 .toList();
 
         questionRepo.saveAll(newOnes);
+        catalog.bumpVersion();
     }
 
     @Transactional(readOnly = true)
@@ -230,6 +237,7 @@ public class CmsAssessmentService {
                     .adviceKo(r.adviceKo())
                     .build());
         }
+        catalog.bumpVersion();
     }
 
     @Transactional(readOnly = true)
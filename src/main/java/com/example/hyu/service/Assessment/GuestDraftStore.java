@@ -0,0 +1,67 @@
+package com.example.hyu.service.Assessment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비로그인(guestKey) 검사 임시저장 (MySQL 대신 Redis 해시)
+ * - asd:{assessmentId}:{guestKey} → { questionId: "value|rawAnswer" }, 마지막 저장 기준 TTL
+ * - 응답 1건 저장 = 스크립트 1회 (HSET + PEXPIRE, 왕복 1번)
+ * - 제출 시에만 MySQL로 옮기고 커밋 후 삭제 → 버려진 게스트 초안이 DB에 쌓이지 않음
+ */
+@Component
+public class GuestDraftStore {
+
+    private static final char SEP = '|';
+
+    private static final DefaultRedisScript<Long> PUT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+
+    public GuestDraftStore(StringRedisTemplate redis,
+                           @Value("${assessment.guest-draft.ttl-seconds:86400}") long ttlSeconds) {
+        this.redis = redis;
+        this.ttl = Duration.ofSeconds(Math.max(60, ttlSeconds));
+    }
+
+    private String key(Long assessmentId, String guestKey) {
+        return "asd:" + assessmentId + ":" + guestKey;
+    }
+
+    public void put(Long assessmentId, String guestKey, Long questionId, int value, String rawAnswer) {
+        String encoded = rawAnswer == null ? String.valueOf(value) : value + String.valueOf(SEP) + rawAnswer;
+        redis.execute(PUT, List.of(key(assessmentId, guestKey)),
+                questionId.toString(), encoded, String.valueOf(ttl.toMillis()));
+    }
+
+    /** 저장된 초안 (문항ID → 응답), 없거나 만료되었으면 빈 맵 */
+    public Map<Long, AssessmentAnswerBatchWriter.Row> load(Long assessmentId, String guestKey) {
+        Map<Object, Object> raw = redis.opsForHash().entries(key(assessmentId, guestKey));
+        Map<Long, AssessmentAnswerBatchWriter.Row> rows = new LinkedHashMap<>(raw.size() * 2);
+        for (Map.Entry<Object, Object> e : raw.entrySet()) {
+            Long questionId = Long.valueOf(e.getKey().toString());
+            String v = e.getValue().toString();
+            int cut = v.indexOf(SEP);
+            Integer value = Integer.valueOf(cut < 0 ? v : v.substring(0, cut));
+            String rawAnswer = cut < 0 ? null : v.substring(cut + 1);
+            rows.put(questionId, new AssessmentAnswerBatchWriter.Row(questionId, value, rawAnswer));
+        }
+        return rows;
+    }
+
+    public void delete(Long assessmentId, String guestKey) {
+        redis.delete(key(assessmentId, guestKey));
+    }
+}
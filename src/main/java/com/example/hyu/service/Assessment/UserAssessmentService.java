@@ -4,18 +4,31 @@ import com.example.hyu.dto.Assessment.user.*;
 import com.example.hyu.dto.kpi.EventRequest;
 import com.example.hyu.entity.*;
 import com.example.hyu.repository.Assessment.*;
-import com.example.hyu.service.kpi.EventService;
+import com.example.hyu.service.kpi.EventOutboxService;
+import com.example.hyu.support.AfterCommit;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * 사용자 검사 조회/임시저장/제출
+ * - 검사 스냅샷(catalog)은 트랜잭션을 열기 전에 확보 → 캐시 미스 적재가 호출 측 커넥션과 겹치지 않고,
+ *   REPEATABLE READ 스냅샷(CMS 수정 이전)이 캐시에 들어가지 않음
+ * - 스냅샷을 쓰는 쓰기 작업은 tx(TransactionTemplate)로 짧게 실행
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -25,8 +38,11 @@ public class UserAssessmentService {
     private final AssessmentQuestionRepository questionRepo;
     private final AssessmentSubmissionRepository submissionRepo;
     private final AssessmentAnswerRepository answerRepo;
-    private final AssessmentRangeRepository rangeRepo;
-    private final EventService eventService;
+    private final EventOutboxService eventOutbox;         // 이벤트는 같은 트랜잭션의 outbox로 (events 적재는 relay)
+    private final AssessmentAnswerBatchWriter answerWriter;
+    private final AssessmentCatalog catalog;             // 검사/문항/구간 스냅샷 캐시
+    private final GuestDraftStore guestDrafts;           // 비로그인 임시저장 (Redis)
+    private final TransactionTemplate tx;                // 스냅샷 확보 이후의 쓰기 트랜잭션
 
     /* =========================
        1) 검사 목록 / 상세
@@ -41,9 +57,9 @@ public class UserAssessmentService {
                 ));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 캐시 조회만
     public AssessmentRes getActiveByCode(String code) {
-        Assessment a = assessmentRepo.findByCodeAndStatus(code, Assessment.Status.ACTIVE)
+        AssessmentSnapshot a = catalog.findActiveByCode(code)
                 .orElseThrow(() -> new IllegalArgumentException("assessment not found or inactive: " + code));
         return new AssessmentRes(a.getId(), a.getCode(), a.getName(), a.getCategory(), a.getDescription());
     }
@@ -52,28 +68,22 @@ public class UserAssessmentService {
        2) 문항 조회
        ========================= */
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 캐시 조회만
     public List<AssessmentQuestionsRes> getQuestions(Long assessmentId) {
         // 활성 검사가 아니라면 차단(선택)
-        Assessment a = assessmentRepo.findById(assessmentId)
-                .orElseThrow(() -> new IllegalArgumentException("assessment not found: " + assessmentId));
-        if (a.getStatus() != Assessment.Status.ACTIVE) {
-            throw new IllegalStateException("assessment inactive");
-        }
-
-        return questionRepo.findByAssessmentIdOrderByOrderNoAsc(assessmentId).stream()
-                .map(q -> new AssessmentQuestionsRes(q.getId(), q.getOrderNo(), q.getText()))
+        return activeSnapshot(assessmentId).getQuestions().stream()
+                .map(q -> new AssessmentQuestionsRes(q.id(), q.orderNo(), q.text()))
                 .toList();
     }
 
     /* =========================
        3) 임시저장(업서트)
-       - 로그인: userId 기반 드래프트
-       - 비로그인: guestKey 기반 드래프트
+       - 로그인: userId 기반 드래프트 (MySQL)
+       - 비로그인: guestKey 기반 Redis 초안 (제출 시에만 MySQL 반영)
        - submissionId가 오면 소유권 검증 후 그 드래프트 사용
        ========================= */
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 스냅샷 확보 후 tx
     public void upsertDraftAnswer(Long assessmentId,
                                   Long userId,            // null이면 비로그인
                                   String headerGuestKey,  // 컨트롤러에서 전달
@@ -87,46 +97,60 @@ public class UserAssessmentService {
             throw new IllegalArgumentException("guestKey required for anonymous");
         }
 
-        // 3) 제출 초안 확보(로그인/게스트 분기)
-        AssessmentSubmission submission = getOrCreateDraftSubmission(assessmentId, userId, guestKey);
-
-        if (submission.isSubmitted()) {
-            throw new IllegalStateException("already submitted; cannot modify answers");
-        }
-
-        // 4) 문항 소속 검증
-        AssessmentQuestion question = questionRepo.findById(req.questionId())
-                .orElseThrow(() -> new IllegalArgumentException("question not found: " + req.questionId()));
-        if (!question.getAssessment().getId().equals(assessmentId)) {
+        // 3) 문항 소속/값 범위 검증 (캐시된 스냅샷)
+        AssessmentSnapshot snapshot = activeSnapshot(assessmentId);
+        if (!snapshot.contains(req.questionId())) {
             throw new IllegalArgumentException("question does not belong to assessment");
         }
+        if (!snapshot.isValidValue(req.value())) {
+            throw new IllegalArgumentException("selectedValue must be 0~" + snapshot.getScaleMax());
+        }
 
-        // 5) upsert
-        var existing = answerRepo.findBySubmissionIdAndQuestionId(submission.getId(), req.questionId());
-        if (existing.isPresent()) {
-            existing.get().setSelectedValue(req.value());
-            existing.get().setRawAnswer(req.rawAnswer());
-        } else {
-            AssessmentAnswer a = AssessmentAnswer.builder()
-                    .submission(submission)
-                    .question(question)
-                    .selectedValue(req.value())
-                    .rawAnswer(req.rawAnswer())
-                    .build();
-            submission.getAnswers().add(a);
-            answerRepo.save(a);
+        // 4) 비로그인: Redis 초안에만 저장 (DB 쓰기 없음)
+        if (userId == null) {
+            if (guestKey.length() > 64) { // 제출 시 guest_key 컬럼 길이
+                throw new IllegalArgumentException("guestKey too long");
+            }
+            guestDrafts.put(assessmentId, guestKey, req.questionId(), req.value(), req.rawAnswer());
+            return;
         }
+
+        // 5) 로그인: 제출 초안 확보 → upsert (한 트랜잭션)
+        tx.executeWithoutResult(status -> {
+            AssessmentSubmission submission = getOrCreateDraftSubmission(assessmentId, userId, guestKey);
+
+            if (submission.isSubmitted()) {
+                throw new IllegalStateException("already submitted; cannot modify answers");
+            }
+
+            // 6) upsert
+            var existing = answerRepo.findBySubmissionIdAndQuestionId(submission.getId(), req.questionId());
+            if (existing.isPresent()) {
+                existing.get().setSelectedValue(req.value());
+                existing.get().setRawAnswer(req.rawAnswer());
+            } else {
+                AssessmentAnswer a = AssessmentAnswer.builder()
+                        .submission(submission)
+                        .question(questionRepo.getReferenceById(req.questionId()))
+                        .selectedValue(req.value())
+                        .rawAnswer(req.rawAnswer())
+                        .build();
+                submission.getAnswers().add(a);
+                answerRepo.save(a);
+            }
+        });
     }
 
 
     /* =========================
        4) 최종 제출
        - answers가 동봉되면 일괄 업서트 후 제출
+       - 게스트는 Redis 초안 + 동봉 answers를 합쳐 한 번에 MySQL 반영, 커밋 후 초안 삭제
        - 미동봉이면 기존 드래프트 기준으로 제출
        - 게스트/유저 공통
        ========================= */
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 스냅샷 확보 후 tx
     public AssessmentSubmitRes submit(AssessmentSubmitReq req,
                                       Long userId,
                                       String headerGuestKey) {
@@ -140,6 +164,15 @@ public class UserAssessmentService {
         }
 
         Long assessmentId = req.assessmentId();
+        AssessmentSnapshot snapshot = catalog.find(assessmentId)
+                .orElseThrow(() -> new IllegalArgumentException("assessment not found: " + assessmentId));
+
+        return tx.execute(status -> submitInTx(req, userId, guestKey, snapshot));
+    }
+
+    private AssessmentSubmitRes submitInTx(AssessmentSubmitReq req, Long userId, String guestKey,
+                                           AssessmentSnapshot snapshot) {
+        Long assessmentId = snapshot.getId();
 
         // 3) 초안 확보(로그인/게스트 분기) — submissionId가 있으면 우선 사용
         AssessmentSubmission submission = null;
@@ -158,33 +191,41 @@ public class UserAssessmentService {
             submission = getOrCreateDraftSubmission(assessmentId, userId, guestKey);
         }
 
-        // 4) 요청에 answers 있으면 최신화
-        if (req.answers() != null && !req.answers().isEmpty()) {
+        // 4) 게스트 Redis 초안 + 요청 answers(우선) 병합 → 일괄 최신화 (문항 검증은 캐시된 스냅샷, 업서트 1회)
+        Map<Long, AssessmentAnswerBatchWriter.Row> rows = new LinkedHashMap<>();
+        if (userId == null) {
+            guestDrafts.load(assessmentId, guestKey).forEach((questionId, row) -> {
+                if (snapshot.contains(questionId)) rows.put(questionId, row); // 문항 교체 전 응답은 제외
+            });
+        }
+        if (req.answers() != null) {
             for (AssessmentAnswerReq a : req.answers()) {
-                // 헤더값을 함께 넘겨 동일 병합 규칙 유지
-                upsertDraftAnswer(assessmentId, userId, headerGuestKey, a);
+                if (a.questionId() == null || !snapshot.contains(a.questionId())) {
+                    throw new IllegalArgumentException("question does not belong to assessment: " + a.questionId());
+                }
+                rows.put(a.questionId(), new AssessmentAnswerBatchWriter.Row(a.questionId(), a.value(), a.rawAnswer()));
             }
         }
-
-        // 5) 전부 응답했는지 검증
-        long totalQ = questionRepo.countByAssessmentId(assessmentId);
-        long answered = answerRepo.countBySubmissionId(submission.getId());
-        if (answered != totalQ) {
-            throw new IllegalStateException("not all questions answered: answered=" + answered + ", total=" + totalQ);
+        if (!rows.isEmpty()) {
+            upsertAnswers(submission.getId(), snapshot, rows.values());
         }
 
-        // 6) 점수 계산 → 밴드 매핑
-        int total = answerRepo.sumTotalScore(submission.getId());
-        AssessmentRange band = rangeRepo.findBand(assessmentId, total)
-                .orElseThrow(() -> new IllegalStateException("score band not defined for score: " + total));
+        // 5~6) 응답 값 1회 조회 → 메모리에서 완료 검증/역문항/합산/밴드 매핑
+        AssessmentScorer.Result result = AssessmentScorer.score(
+                snapshot, answerRepo.findValuesBySubmissionId(submission.getId()));
+        int total = result.total();
+        AssessmentSnapshot.Band band = result.band();
 
         // 7) 제출 확정
-        submission.applyResult(total, band.getLevel());
+        submission.applyResult(total, band.level());
         submission.setSubmittedAt(Instant.now());
         submission.setStatus(AssessmentSubmission.Status.SUBMITTED);
         submissionRepo.save(submission);
+        if (userId == null) {
+            AfterCommit.run(() -> deleteGuestDraft(assessmentId, guestKey));
+        }
 
-        // 8) 이벤트 저장 API 호출
+        // 8) 이벤트 outbox 기록 (제출과 같은 트랜잭션, 멱등 키 = 제출 ID 기반)
         EventRequest event1 = new EventRequest(
                 userId,                                // 유저 ID
                 "self_assessment_completed",           // 이벤트명
@@ -194,7 +235,7 @@ public class UserAssessmentService {
                 submission.getId().toString(),         // sessionId = submissionId 사용 가능
                 Map.of("assessmentId", assessmentId)   // meta: 부가정보
         );
-        eventService.ingest(event1, null);
+        eventOutbox.append(event1, "asmt:completed:" + submission.getId());
 
         // risk_detected 이벤트는 항상 기록 (레벨 포함)
         EventRequest event2 = new EventRequest(
@@ -202,16 +243,16 @@ public class UserAssessmentService {
                 "risk_detected",
                 Instant.now().toString(),
                 "ok",
-                band.getLevel().name().toLowerCase(),         // mild, moderate, risk, high_risk
+                band.level().name().toLowerCase(),         // mild, moderate, risk, high_risk
                 submission.getId().toString(),
                 Map.of("assessmentId", assessmentId, "score", total)
         );
-        eventService.ingest(event2, null);
+        eventOutbox.append(event2, "risk:asmt:" + submission.getId());
 
         // 9) 응답
         return new AssessmentSubmitRes(
                 submission.getId(), assessmentId, submission.getSubmittedAt(),
-                band.getLevel(), band.getLabelKo(), band.getSummaryKo(), band.getAdviceKo()
+                band.level(), band.labelKo(), band.summaryKo(), band.adviceKo()
         );
     }
 
@@ -228,25 +269,27 @@ public class UserAssessmentService {
                 ));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 스냅샷 확보 후 단건 조회
     public AssessmentSubmitRes latestResult(Long assessmentId, Long userId) {
+        var snapshot = catalog.find(assessmentId);
         AssessmentSubmission s = submissionRepo
                 .findByAssessmentIdAndUserIdOrderBySubmittedAtDesc(assessmentId, userId, Pageable.ofSize(1))
                 .stream()
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("no submission"));
 
-        AssessmentRange band = rangeRepo.findBand(assessmentId, s.getTotalScore())
+        AssessmentSnapshot.Band band = snapshot
+                .flatMap(a -> a.findBand(s.getTotalScore()))
                 .orElseThrow(() -> new IllegalStateException("score band not found"));
 
         return new AssessmentSubmitRes(
                 s.getId(),
                 assessmentId,
                 s.getSubmittedAt(),
-                band.getLevel(),
-                band.getLabelKo(),
-                band.getSummaryKo(),
-                band.getAdviceKo()
+                band.level(),
+                band.labelKo(),
+                band.summaryKo(),
+                band.adviceKo()
         );
     }
 
@@ -264,11 +307,8 @@ public class UserAssessmentService {
                                                       String guestKey /*nullable*/,
                                                       Long submissionId /*nullable*/) {
         // 0) 검사 활성 확인
-        Assessment a = assessmentRepo.findById(assessmentId)
-                .orElseThrow(() -> new IllegalArgumentException("assessment not found: " + assessmentId));
-        if (a.getStatus() != Assessment.Status.ACTIVE) {
-            throw new IllegalStateException("assessment inactive");
-        }
+        activeSnapshot(assessmentId);
+        Assessment a = assessmentRepo.getReferenceById(assessmentId);
 
         // 1) submissionId가 명시되면: 소유권/소속/상태 확인 후 사용
         if (submissionId != null) {
@@ -321,13 +361,44 @@ public class UserAssessmentService {
         }
     }
 
-    /* 로그인/게스트 공용 초안 확보 */
-    private AssessmentSubmission getOrCreateDraftSubmission(Long assessmentId, Long userId, String guestKey) {
-        Assessment a = assessmentRepo.findById(assessmentId)
+    /**
+     * 제출 시 응답 일괄 업서트 (문항별로 병합된 행)
+     * - 값 범위는 메모리에서 검증 (게스트 초안 저장 후 척도가 바뀐 경우 포함)
+     * - 기존 응답 조회 없이 INSERT ... ON DUPLICATE KEY UPDATE 한 번으로 반영
+     */
+    private void upsertAnswers(Long submissionId, AssessmentSnapshot snapshot,
+                               Collection<AssessmentAnswerBatchWriter.Row> rows) {
+        for (AssessmentAnswerBatchWriter.Row r : rows) {
+            if (!snapshot.isValidValue(r.value())) {
+                throw new IllegalArgumentException("selectedValue must be 0~" + snapshot.getScaleMax());
+            }
+        }
+        answerWriter.upsert(submissionId, List.copyOf(rows));
+    }
+
+    /* 제출 커밋 후 게스트 초안 정리 (실패해도 TTL로 만료) */
+    private void deleteGuestDraft(Long assessmentId, String guestKey) {
+        try {
+            guestDrafts.delete(assessmentId, guestKey);
+        } catch (Exception e) {
+            log.warn("guest draft cleanup failed: assessmentId={}, {}", assessmentId, e.getMessage());
+        }
+    }
+
+    /** 캐시된 활성 검사 스냅샷 (없거나 비활성이면 예외) */
+    private AssessmentSnapshot activeSnapshot(Long assessmentId) {
+        AssessmentSnapshot a = catalog.find(assessmentId)
                 .orElseThrow(() -> new IllegalArgumentException("assessment not found: " + assessmentId));
-        if (a.getStatus() != Assessment.Status.ACTIVE) {
+        if (!a.isActive()) {
             throw new IllegalStateException("assessment inactive");
         }
+        return a;
+    }
+
+    /* 로그인/게스트 공용 초안 확보 */
+    private AssessmentSubmission getOrCreateDraftSubmission(Long assessmentId, Long userId, String guestKey) {
+        activeSnapshot(assessmentId);
+        Assessment a = assessmentRepo.getReferenceById(assessmentId); // INSERT용 참조 (SELECT 없음)
 
         if (userId != null) {
             return submissionRepo.findFirstByAssessmentIdAndUserIdAndStatusOrderByIdDesc(
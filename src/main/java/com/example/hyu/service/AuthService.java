@@ -15,7 +15,6 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,10 +29,11 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final UserLoginRepository userLoginRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService; // BCrypt는 전용 풀에서 (포화 시 503)
     private final JwtTokenProvider jwtTokenProvider;
     private final TokenStoreService tokenStoreService;
     private final JwtProperties jwtProperties;
+    private final UserStatusCache userStatusCache;
 
     /**
      * Create a new user account and return its public representation.
@@ -53,7 +53,7 @@ public class AuthService {
 
         Users user = Users.builder()
                 .email(req.email())
-                .password(passwordEncoder.encode(req.password()))
+                .password(passwordHashingService.encode(req.password()))
                 .name(req.name())
                 .nickname(req.nickname())
                 .role("USER")
@@ -79,7 +79,7 @@ public class AuthService {
         Users user = userRepository.findByEmail(req.email())
                 .orElseThrow(() -> new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다."));
 
-        if (!passwordEncoder.matches(req.password(), user.getPassword())) {
+        if (!passwordHashingService.matches(req.password(), user.getPassword())) {
             throw new IllegalArgumentException("이메일 또는 비밀번호가 올바르지 않습니다.");
         }
 
@@ -97,6 +97,7 @@ public class AuthService {
             if (user.getSuspendUntil() != null && !user.getSuspendUntil().isAfter(now)) {
                 user.setState(Users.UserState.ACTIVE);
                 user.setSuspendUntil(null);
+                userStatusCache.evict(user.getId());
             } else {
                 // 2-2) 아직 정지 중(만료 시간이 없거나 미래면 계속 정지)
                 throw new IllegalStateException("ACCOUNT_SUSPENDED");
@@ -137,12 +138,13 @@ public class AuthService {
         String raw = extractRefreshRaw(req)
                 .orElseThrow(() -> new IllegalStateException("리프레시 토큰이 없습니다."));
 
-        var owner = tokenStoreService.checkRefresh(raw)
+        // 검증 + 회전을 원자적으로 (이미 사용된 토큰이면 실패 → 동시 요청 중 하나만 성공)
+        var rotation = tokenStoreService.rotateRefresh(raw)
                 .orElseThrow(() -> new IllegalStateException("리프레시 토큰이 유효하지 않습니다."));
+        var owner = rotation.owner();
 
         String newAccess = jwtTokenProvider.createToken(owner.userId(), owner.role(), owner.email());
-        String newRefresh = tokenStoreService.rotateRefresh(owner);
-        addRefreshCookie(res, newRefresh);
+        addRefreshCookie(res, rotation.refreshRaw());
 
         Long validityMs = jwtTokenProvider.getValidityMillis(); // null일 수 있음
         long expiresInSec = Math.floorDiv(validityMs != null ? validityMs : 21600000L, 1000); // 기본 6h
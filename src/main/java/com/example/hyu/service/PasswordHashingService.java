@@ -0,0 +1,78 @@
+package com.example.hyu.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt 해싱/검증을 전용 풀(passwordHashExecutor)에서 실행
+ * - 동시 해싱 수를 CPU 코어 수로 제한 → 로그인 폭주가 Tomcat 워커 전체를 잡아먹지 않음
+ * - 대기열이 꽉 찼거나 timeout 안에 끝나지 않으면 503으로 빠르게 실패
+ * - 지표: auth.password.rejected{reason=queue_full|timeout}, auth.password.queue.depth
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashExecutor") ThreadPoolExecutor executor,
+                                  MeterRegistry meters,
+                                  @Value("${auth.password.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.queueFull = meters.counter("auth.password.rejected", "reason", "queue_full");
+        this.timedOut = meters.counter("auth.password.rejected", "reason", "timeout");
+        meters.gauge("auth.password.queue.depth", executor, e -> e.getQueue().size());
+    }
+
+    public String encode(String raw) {
+        return run(() -> passwordEncoder.encode(raw));
+    }
+
+    public boolean matches(String raw, String encoded) {
+        return run(() -> passwordEncoder.matches(raw, encoded));
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> f;
+        try {
+            f = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            queueFull.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "PASSWORD_HASHING_BUSY");
+        }
+
+        try {
+            return f.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            f.cancel(true);
+            timedOut.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "PASSWORD_HASHING_BUSY");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "PASSWORD_HASHING_BUSY");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
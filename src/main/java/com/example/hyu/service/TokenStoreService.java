@@ -2,26 +2,129 @@ package com.example.hyu.service;
 
 import com.example.hyu.security.JwtProperties;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenStoreService {
 
+    private static final int SWEEP_BATCH = 200;
+
     private final StringRedisTemplate redis;
     private final JwtProperties props;
+    private final AccessBlacklistCache blacklistCache;
+
+    @Value("${auth.refresh.max-devices:10}")
+    private int maxDevices;                  // 사용자당 유지할 최대 Refresh 토큰 수 (초과 시 오래된 것부터 폐기)
+
+    // ==== Lua scripts (연산당 1회 왕복 + 원자성) ====
+    // 공통: rtu:{userId} 인덱스 정리 (구 SET 형식이면 ZSET으로 이전 → 만료 멤버 제거) / 기기 수 제한
+    // 인덱스 키는 모두 KEYS로 넘김. 멤버의 rt:{hash}(이전 시 PTTL, 제한/전체 폐기 시 DEL)만 멤버 값에서 만들어짐
+    //   → rt:/rtu: 키가 슬롯을 공유하지 않으므로 Cluster가 아닌 단일/Sentinel Redis 전제
+    private static final String INDEX_FUNCTIONS = """
+            local function prune(key, now)
+                if redis.call('TYPE', key).ok == 'set' then
+                    local members = redis.call('SMEMBERS', key)
+                    redis.call('DEL', key)
+                    for _, h in ipairs(members) do
+                        local ttl = redis.call('PTTL', 'rt:' .. h)
+                        if ttl > 0 then redis.call('ZADD', key, now + ttl, h) end
+                    end
+                end
+                redis.call('ZREMRANGEBYSCORE', key, '-inf', now)
+            end
+            local function cap(key, max)
+                local over = redis.call('ZCARD', key) - max
+                if over > 0 then
+                    local victims = redis.call('ZPOPMIN', key, over)
+                    for i = 1, #victims, 2 do redis.call('DEL', 'rt:' .. victims[i]) end
+                end
+            end
+            """;
+
+    // 발급: rt:{hash} 저장 + rtu:{userId}에 만료 시각 점수로 등록
+    private static final DefaultRedisScript<Long> ISSUE = new DefaultRedisScript<>(INDEX_FUNCTIONS + """
+            local now = tonumber(ARGV[4])
+            prune(KEYS[2], now)
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            redis.call('ZADD', KEYS[2], now + tonumber(ARGV[2]), ARGV[3])
+            cap(KEYS[2], tonumber(ARGV[5]))
+            redis.call('PEXPIRE', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // 회전: 기존 토큰이 읽은 값 그대로 남아 있을 때만 삭제 + 새 토큰 발급 (아니면 nil → 재사용/동시 회전 감지)
+    // KEYS = rt:{old}, rt:{new}, rtu:{userId} (userId는 호출 측이 먼저 GET 해서 얻고, 스크립트가 값 비교로 재확인)
+    private static final DefaultRedisScript<String> ROTATE = new DefaultRedisScript<>(INDEX_FUNCTIONS + """
+            local v = redis.call('GET', KEYS[1])
+            if v ~= ARGV[6] then return false end
+            local now = tonumber(ARGV[4])
+            prune(KEYS[3], now)
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[3], ARGV[1])
+            redis.call('SET', KEYS[2], v, 'PX', ARGV[3])
+            redis.call('ZADD', KEYS[3], now + tonumber(ARGV[3]), ARGV[2])
+            cap(KEYS[3], tonumber(ARGV[5]))
+            redis.call('PEXPIRE', KEYS[3], ARGV[3])
+            return v
+            """, String.class);
+
+    // 단일 폐기
+    private static final DefaultRedisScript<Long> REVOKE_ONE = new DefaultRedisScript<>(INDEX_FUNCTIONS + """
+            prune(KEYS[2], tonumber(ARGV[2]))
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    // 전체 기기 폐기: 멤버 rt:{hash}를 묶음 DEL 후 인덱스 삭제
+    private static final DefaultRedisScript<Long> REVOKE_ALL = new DefaultRedisScript<>(INDEX_FUNCTIONS + """
+            prune(KEYS[1], tonumber(ARGV[1]))
+            local members = redis.call('ZRANGE', KEYS[1], 0, -1)
+            for i = 1, #members, 500 do
+                local batch = {}
+                for j = i, math.min(i + 499, #members) do
+                    batch[#batch + 1] = 'rt:' .. members[j]
+                end
+                redis.call('DEL', unpack(batch))
+            end
+            redis.call('DEL', KEYS[1])
+            return #members
+            """, Long.class);
+
+    // 스윕: 여러 rtu 키를 한 번에 정리, 비면 삭제 (반환: 삭제된 인덱스 수)
+    private static final DefaultRedisScript<Long> SWEEP = new DefaultRedisScript<>(INDEX_FUNCTIONS + """
+            local now = tonumber(ARGV[1])
+            local emptied = 0
+            for _, key in ipairs(KEYS) do
+                prune(key, now)
+                if redis.call('ZCARD', key) == 0 then
+                    redis.call('DEL', key)
+                    emptied = emptied + 1
+                end
+            end
+            return emptied
+            """, Long.class);
 
     // ==== Redis Keys ====
     // Refresh 토큰(해시 저장):  rt:{hash} -> value: userId|role|email   (TTL = refresh-validity)
-    // 사용자별 Refresh 세트:   rtu:{userId} (members: {hash})
+    // 사용자별 Refresh 인덱스: rtu:{userId} ZSET (member: {hash}, score: 만료 시각 ms)
     /**
  * Build the Redis key used to store a refresh token entry for the given token hash.
  *
@@ -72,12 +175,13 @@ private String blkKey(String jti){ return "blk:" + jti; }
      * @return the raw refresh token string to be returned to the client
      */
     public String issueRefresh(Long userId, String role, String email) {
-        String raw = "rt." + UUID.randomUUID() + "." + System.nanoTime();
+        String raw = newRaw();
         String hash = sha256(raw);
         String val = userId + "|" + role + "|" + (email == null ? "" : email);
 
-        redis.opsForValue().set(rtKey(hash), val, Duration.ofMillis(refreshTtlMillis()));
-        redis.opsForSet().add(rtuKey(userId), hash);
+        redis.execute(ISSUE, List.of(rtKey(hash), rtuKey(userId)),
+                val, String.valueOf(refreshTtlMillis()), hash,
+                String.valueOf(System.currentTimeMillis()), String.valueOf(Math.max(1, maxDevices)));
         return raw;
     }
 
@@ -95,79 +199,135 @@ private String blkKey(String jti){ return "blk:" + jti; }
         String hash = sha256(raw);
         String v = redis.opsForValue().get(rtKey(hash));
         if (v == null) return Optional.empty();
-        String[] parts = v.split("\\|", -1);
-        Long uid = Long.valueOf(parts[0]);
-        String role = parts.length > 1 ? parts[1] : "ROLE_USER";
-        String email = parts.length > 2 ? parts[2] : null;
-        return Optional.of(new UserTokenOwner(uid, role, email, hash));
+        return Optional.of(parseOwner(v, hash));
     }
 
     /**
-     * Rotate a refresh token: revoke the provided token and issue a new one for the same owner.
+     * Atomically rotate a refresh token: consume the presented token and issue a new one for the same owner.
      *
-     * Deletes the stored refresh entry identified by the owner's hash and removes that hash from
-     * the owner's Redis set, then creates and returns a new raw refresh token for the same user,
-     * role, and email.
+     * The old `rt:{hash}` entry is read first to learn the owner, so the owner's `rtu:{userId}` index can be passed
+     * to the Lua script in KEYS. The script then re-checks that the entry still holds the value that was read,
+     * deletes it, removes its hash from the owner's index, and stores and registers a new entry with the same
+     * owner value. If the presented token is unknown or was already consumed (reuse, or a concurrent refresh that
+     * won the race), nothing is changed and an empty Optional is returned, so each refresh token can be used
+     * exactly once.
      *
-     * @param owner the current token owner containing userId, role, email and the hash of the token to revoke
-     * @return a newly issued raw refresh token string to be returned to the client
+     * @param raw the raw refresh token presented by the client
+     * @return the token owner and the newly issued raw refresh token, or Optional.empty() if the token is not valid
      */
-    public String rotateRefresh(UserTokenOwner owner) {
-        redis.delete(rtKey(owner.hash()));
-        redis.opsForSet().remove(rtuKey(owner.userId()), owner.hash());
-        return issueRefresh(owner.userId(), owner.role(), owner.email());
+    public Optional<Rotation> rotateRefresh(String raw) {
+        String oldHash = sha256(raw);
+        String current = redis.opsForValue().get(rtKey(oldHash));
+        if (current == null) return Optional.empty();
+        Long userId = parseOwner(current, oldHash).userId();
+
+        String newRaw = newRaw();
+        String newHash = sha256(newRaw);
+        String v = redis.execute(ROTATE, List.of(rtKey(oldHash), rtKey(newHash), rtuKey(userId)),
+                oldHash, newHash, String.valueOf(refreshTtlMillis()),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(Math.max(1, maxDevices)), current);
+        if (v == null) return Optional.empty();
+        return Optional.of(new Rotation(parseOwner(v, newHash), newRaw));
     }
 
     /**
      * Revoke refresh token(s) for a user.
      *
      * <p>When {@code revokeAllForUser} is true, deletes all refresh-token entries associated
-     * with the owner's userId and removes the user's refresh-token set. When false, deletes
+     * with the owner's userId and removes the user's refresh-token index. When false, deletes
      * only the specific refresh-token entry identified by the owner's hash and removes that
-     * hash from the user's set.
+     * hash from the user's index. Either way this is a single Lua script call.
      *
      * @param owner the token owner containing userId and the specific refresh-token hash
      * @param revokeAllForUser if true, revoke every refresh token for the user; if false, revoke only the specific token
      */
     public void revokeRefresh(UserTokenOwner owner, boolean revokeAllForUser) {
         if (revokeAllForUser) {
-            var members = redis.opsForSet().members(rtuKey(owner.userId()));
-            if (members != null) for (String h : members) redis.delete(rtKey(h));
-            redis.delete(rtuKey(owner.userId()));
+            redis.execute(REVOKE_ALL, List.of(rtuKey(owner.userId())), String.valueOf(System.currentTimeMillis()));
         } else {
-            redis.delete(rtKey(owner.hash()));
-            redis.opsForSet().remove(rtuKey(owner.userId()), owner.hash());
+            redis.execute(REVOKE_ONE, List.of(rtKey(owner.hash()), rtuKey(owner.userId())),
+                    owner.hash(), String.valueOf(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Periodically prunes every user's refresh-token index.
+     *
+     * Walks `rtu:*` with SCAN and, per batch of keys, removes members whose refresh token has expired,
+     * migrates legacy SET indexes to the sorted-set form, and deletes indexes that end up empty. Active users
+     * are already pruned on every write; this catches dormant users whose index would otherwise linger.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh.sweep-ms:3600000}", initialDelayString = "${auth.refresh.sweep-ms:3600000}")
+    public void sweepUserIndexes() {
+        long emptied = 0;
+        List<String> batch = new ArrayList<>(SWEEP_BATCH);
+        try (Cursor<String> keys = redis.scan(ScanOptions.scanOptions().match("rtu:*").count(SWEEP_BATCH).build())) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == SWEEP_BATCH) {
+                    emptied += sweep(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) emptied += sweep(batch);
+        } catch (Exception e) {
+            log.warn("refresh index sweep failed: {}", e.getMessage());
+            return;
         }
+        if (emptied > 0) log.info("refresh index sweep: {} empty indexes removed", emptied);
+    }
+
+    private long sweep(List<String> keys) {
+        Long n = redis.execute(SWEEP, keys, String.valueOf(System.currentTimeMillis()));
+        return n == null ? 0 : n;
     }
 
     /**
      * Adds an access-token identifier (JTI) to the Redis blacklist so the token can be treated as revoked.
      *
      * If `jti` is null this method does nothing. The blacklist entry is stored under the `blk:{jti}` key
-     * with a TTL equal to the provided `ttlMillis` but never less than 1000 milliseconds.
+     * with a TTL equal to the provided `ttlMillis` but never less than 1000 milliseconds, then pushed to
+     * every node's local blacklist copy.
      *
      * @param jti      the token's JTI to blacklist; when null the operation is a no-op
      * @param ttlMillis desired time-to-live for the blacklist entry in milliseconds (minimum 1000 ms)
      */
     public void blacklistAccess(String jti, long ttlMillis) {
         if (jti == null) return;
-        redis.opsForValue().set(blkKey(jti), "1", Duration.ofMillis(Math.max(1000, ttlMillis)));
+        long ttl = Math.max(1000, ttlMillis);
+        redis.opsForValue().set(blkKey(jti), "1", Duration.ofMillis(ttl));
+        blacklistCache.publish(jti, System.currentTimeMillis() + ttl);
     }
 
     /**
      * Returns whether an access token with the given JWT ID is blacklisted.
      *
-     * Checks Redis for existence of the blacklist key `blk:{jti}`. A null `jti` always returns false.
+     * Answers from the node-local blacklist copy while it is in sync, otherwise checks Redis for the
+     * blacklist key `blk:{jti}`. A null `jti` always returns false.
      *
      * @param jti the JWT ID (jti) of the access token to check
      * @return true if the token is blacklisted, false otherwise
      */
     public boolean isBlacklisted(String jti) {
-        return jti != null && Boolean.TRUE.equals(redis.hasKey(blkKey(jti)));
+        return blacklistCache.isBlacklisted(jti);
     }
 
     // === util ===
     public record UserTokenOwner(Long userId, String role, String email, String hash) {}
+    public record Rotation(UserTokenOwner owner, String refreshRaw) {}
+
+    private static String newRaw() {
+        return "rt." + UUID.randomUUID() + "." + System.nanoTime();
+    }
+
+    // 저장값 userId|role|email → owner
+    private static UserTokenOwner parseOwner(String v, String hash) {
+        String[] parts = v.split("\\|", -1);
+        Long uid = Long.valueOf(parts[0]);
+        String role = parts.length > 1 ? parts[1] : "ROLE_USER";
+        String email = parts.length > 2 ? parts[2] : null;
+        return new UserTokenOwner(uid, role, email, hash);
+    }
     /**
      * Computes the SHA-256 digest of the input string and returns it as a
      * URL-safe Base64 string with padding removed.
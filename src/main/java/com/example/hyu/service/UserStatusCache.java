@@ -0,0 +1,83 @@
+package com.example.hyu.service;
+
+import com.example.hyu.dto.user.UserStatusView;
+import com.example.hyu.repository.UserRepository;
+import com.example.hyu.support.AfterCommit;
+import com.example.hyu.support.ExpiringLruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * userId → (state, suspendUntil) 캐시 (SuspensionGuardFilter 요청당 DB 조회 대체)
+ * - TTL + 최대 크기 제한 LRU, 없는 사용자도 짧게 캐시
+ * - 상태 변경 시 evict() → 커밋 후 로컬 제거 + ust:evict 채널로 다른 노드에도 제거 전파
+ * - 전파가 유실돼도 TTL이 지나면 DB 값으로 갱신
+ */
+@Slf4j
+@Component
+public class UserStatusCache {
+
+    static final String CHANNEL = "ust:evict";
+    private static final UserStatusView ABSENT = new UserStatusView(null, null);
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listeners;
+    private final ExpiringLruCache<Long, UserStatusView> cache;
+
+    public UserStatusCache(UserRepository userRepository,
+                           StringRedisTemplate redis,
+                           RedisMessageListenerContainer listeners,
+                           @Value("${auth.user-status.ttl-seconds:30}") long ttlSeconds,
+                           @Value("${auth.user-status.max-size:50000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.redis = redis;
+        this.listeners = listeners;
+        this.cache = new ExpiringLruCache<>(Math.max(1, maxSize), Duration.ofSeconds(Math.max(1, ttlSeconds)));
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listeners.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                cache.invalidate(Long.valueOf(body));
+            } catch (NumberFormatException e) {
+                log.warn("invalid user-status evict message: {}", body);
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+
+    public Optional<UserStatusView> get(Long userId) {
+        UserStatusView v = cache.get(userId);
+        if (v == null) {
+            v = userRepository.findStatusById(userId).orElse(ABSENT);
+            cache.put(userId, v);
+        }
+        return (v == ABSENT) ? Optional.empty() : Optional.of(v);
+    }
+
+    /** 상태 변경 트랜잭션 안에서 호출 → 커밋 후 모든 노드에서 제거 (트랜잭션 밖이면 즉시) */
+    public void evict(Long userId) {
+        AfterCommit.run(() -> evictNow(userId));
+    }
+
+    private void evictNow(Long userId) {
+        cache.invalidate(userId);
+        try {
+            redis.convertAndSend(CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            // 다른 노드는 TTL 만료 시 갱신
+            log.warn("user-status evict publish failed: {}", e.getMessage());
+        }
+    }
+}
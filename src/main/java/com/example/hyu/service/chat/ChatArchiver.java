@@ -0,0 +1,231 @@
+package com.example.hyu.service.chat;
+
+import com.example.hyu.entity.ChatMessage;
+import com.example.hyu.entity.ChatMessageArchive;
+import com.example.hyu.entity.ChatSession;
+import com.example.hyu.repository.chat.ChatMessageArchiveRepository;
+import com.example.hyu.repository.chat.ChatMessageRepository;
+import com.example.hyu.repository.chat.ChatSessionRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 오래 쉬고 있는 세션의 메시지를 chat_message_archive(gzip 청크)로 옮기는 작업 + 열람 시 복원
+ * - 주기 실행: idle-days 넘게 갱신 없는 세션 → CLOSED + ARCHIVING → batch-size 단위 청크 이동 → ARCHIVED
+ * - 청크마다 별도 트랜잭션 (보관 INSERT + 원본 DELETE 원자적) → 중간에 죽어도 다음 실행에서 ARCHIVING부터 이어서
+ * - 복원: 보관된 세션을 사용자가 다시 열면 원래 ID/시각 그대로 chat_messages에 되돌림 (키셋 커서 유지)
+ * - 청크 이동과 복원은 세션 행 잠금으로 직렬화
+ * - 보관 작업은 기본 꺼짐 (chat.archive.enabled=true 로 환경별 opt-in), 복원은 항상 동작
+ */
+@Slf4j
+@Component
+public class ChatArchiver {
+
+    private static final int RESTORE_ROWS_PER_STATEMENT = 200;
+
+    private final ChatSessionRepository sessions;
+    private final ChatMessageRepository messages;
+    private final ChatMessageArchiveRepository archives;
+    private final ChatSessionCache sessionCache;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final boolean enabled;
+    private final Duration idle;
+    private final int batchSize;
+    private final int sessionsPerRun;
+
+    public ChatArchiver(ChatSessionRepository sessions,
+                        ChatMessageRepository messages,
+                        ChatMessageArchiveRepository archives,
+                        ChatSessionCache sessionCache,
+                        EntityManager em,
+                        TransactionTemplate tx,
+                        MeterRegistry meterRegistry,
+                        @Value("${chat.archive.enabled:false}") boolean enabled, // 데이터 이동 작업 → 환경별로 명시적으로 켬
+                        @Value("${chat.archive.idle-days:30}") int idleDays,
+                        @Value("${chat.archive.batch-size:500}") int batchSize,
+                        @Value("${chat.archive.sessions-per-run:100}") int sessionsPerRun) {
+        this.sessions = sessions;
+        this.messages = messages;
+        this.archives = archives;
+        this.sessionCache = sessionCache;
+        this.em = em;
+        this.tx = tx;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.idle = Duration.ofDays(Math.max(1, idleDays));
+        this.batchSize = Math.max(1, batchSize);
+        this.sessionsPerRun = Math.max(1, sessionsPerRun);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.archive.interval-ms:600000}", initialDelayString = "${chat.archive.interval-ms:600000}")
+    public void archiveIdleSessions() {
+        if (!enabled) return;
+        Instant cutoff = Instant.now().minus(idle);
+
+        // 1) 중단됐던 세션 먼저, 2) 남는 만큼 새 대상
+        List<UUID> targets = new ArrayList<>(
+                sessions.findIdsByArchiveState(ChatSession.ArchiveState.ARCHIVING, PageRequest.of(0, sessionsPerRun)));
+        if (targets.size() < sessionsPerRun) {
+            targets.addAll(sessions.findArchiveCandidates(cutoff, PageRequest.of(0, sessionsPerRun - targets.size())));
+        }
+
+        long moved = 0;
+        for (UUID sessionId : targets) {
+            try {
+                moved += archiveSession(sessionId, cutoff);
+            } catch (Exception e) {
+                log.warn("chat archive failed (session={}): {}", sessionId, e.getMessage());
+            }
+        }
+        if (!targets.isEmpty()) {
+            log.info("chat archive: sessions={}, messages={}", targets.size(), moved);
+        }
+    }
+
+    /** @return 옮긴 메시지 수 */
+    public long archiveSession(UUID sessionId, Instant cutoff) {
+        // 닫기 + ARCHIVING (이미 ARCHIVING이면 0건 → 그대로 이어서 진행)
+        tx.executeWithoutResult(status -> sessions.claimForArchive(
+                sessionId, cutoff, ChatSession.Status.CLOSED, ChatSession.ArchiveState.ARCHIVING));
+        sessionCache.evict(sessionId);
+
+        long moved = 0;
+        while (true) {
+            Integer n = tx.execute(status -> moveChunk(sessionId));
+            if (n == null || n <= 0) break;
+            moved += n;
+        }
+        meterRegistry.counter("chat.archive.messages").increment(moved);
+        return moved;
+    }
+
+    /** @return 옮긴 수, 0 = 완료(ARCHIVED), -1 = 보관 대상 아님(복원됨/대화 재개) */
+    private int moveChunk(UUID sessionId) {
+        ChatSession s = sessions.findForUpdate(sessionId).orElse(null);
+        if (s == null || s.getArchiveState() != ChatSession.ArchiveState.ARCHIVING) return -1;
+
+        List<ChatMessage> batch = messages.findBySession_IdOrderByIdAsc(sessionId, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            sessions.changeArchiveState(sessionId, ChatSession.ArchiveState.ARCHIVING, ChatSession.ArchiveState.ARCHIVED);
+            meterRegistry.counter("chat.archive.sessions").increment();
+            return 0;
+        }
+
+        List<ArchivedMessage> rows = batch.stream()
+                .map(m -> new ArchivedMessage(m.getId(), m.getUserId(), m.getRole().name(), m.getContent(),
+                        m.getCreatedAt().toString()))
+                .toList();
+        archives.save(ChatMessageArchive.builder()
+                .sessionId(sessionId)
+                .userId(s.getUserId())
+                .firstMessageId(batch.get(0).getId())
+                .lastMessageId(batch.get(batch.size() - 1).getId())
+                .messageCount(batch.size())
+                .payload(compress(rows))
+                .createdAt(Instant.now())
+                .build());
+        messages.deleteAllByIdInBatch(batch.stream().map(ChatMessage::getId).toList());
+        return batch.size();
+    }
+
+    /**
+     * 보관된 세션이면 메시지를 chat_messages로 복원 (아니면 상태 조회 1건으로 끝)
+     * - 반드시 트랜잭션 밖에서 호출 (업무 트랜잭션 시작 전)
+     *   · 커넥션을 동시에 2개 잡지 않음 (중첩 트랜잭션이면 풀 고갈 시 교착)
+     *   · 이후 시작하는 트랜잭션의 스냅샷에 복원 결과가 보임
+     * - 보관 상태일 때만 쓰기 트랜잭션을 염
+     */
+    public void restoreIfArchived(UUID sessionId, Long userId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("restoreIfArchived must be called outside a transaction");
+        }
+        if (sessions.findArchiveState(sessionId, userId).isEmpty()) return; // 대부분: 활성 세션
+
+        Integer restored = tx.execute(status -> {
+            if (sessions.unarchive(sessionId, userId, ChatSession.Status.OPEN, Instant.now()) == 0) return 0; // 다른 요청이 먼저 복원
+
+            List<ChatMessageArchive> chunks = archives.findForRestore(sessionId);
+            List<ArchivedMessage> rows = new ArrayList<>();
+            chunks.forEach(c -> rows.addAll(decompress(c.getPayload())));
+            for (int from = 0; from < rows.size(); from += RESTORE_ROWS_PER_STATEMENT) {
+                insertRows(sessionId, rows.subList(from, Math.min(rows.size(), from + RESTORE_ROWS_PER_STATEMENT)));
+            }
+            archives.deleteAllInBatch(chunks);
+            return rows.size();
+        });
+        if (restored != null && restored > 0) {
+            meterRegistry.counter("chat.archive.restored").increment();
+            log.info("chat archive restored (session={}, messages={})", sessionId, restored);
+        }
+    }
+
+    // 원래 ID/작성 시각 그대로 다건 INSERT (UUID/Instant 바인딩은 엔티티 매핑과 동일하게 Hibernate에 맡김)
+    private void insertRows(UUID sessionId, List<ArchivedMessage> rows) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO chat_messages(id, session_id, user_id, role, content, created_at) VALUES ");
+        int p = 1;
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sql.append(',');
+            sql.append("(?").append(p++).append(",?").append(p++).append(",?").append(p++)
+                    .append(",?").append(p++).append(",?").append(p++).append(",?").append(p++).append(')');
+        }
+        Query q = em.createNativeQuery(sql.toString());
+        p = 1;
+        for (ArchivedMessage m : rows) {
+            q.setParameter(p++, m.id());
+            q.setParameter(p++, sessionId);
+            q.setParameter(p++, m.userId());
+            q.setParameter(p++, m.role());
+            q.setParameter(p++, m.content());
+            q.setParameter(p++, Instant.parse(m.createdAt()));
+        }
+        q.executeUpdate();
+    }
+
+    private byte[] compress(List<ArchivedMessage> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gz, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ArchivedMessage> decompress(byte[] payload) {
+        try (GZIPInputStream gz = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(gz, new TypeReference<List<ArchivedMessage>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 보관 형식 (createdAt: ISO-8601, 마이크로초까지 보존) */
+    record ArchivedMessage(Long id, Long userId, String role, String content, String createdAt) {}
+}
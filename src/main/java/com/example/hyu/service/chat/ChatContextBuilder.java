@@ -0,0 +1,127 @@
+package com.example.hyu.service.chat;
+
+import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.entity.ChatMessage;
+import com.example.hyu.repository.chat.ChatMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 어시스턴트에 보낼 대화 컨텍스트 구성
+ * - SYSTEM 프롬프트는 항상 고정 포함 (예산에서 먼저 차감)
+ * - 요약이 있으면 SYSTEM 프롬프트 뒤에 붙이고, 원문은 요약 체크포인트 이후 메시지만 사용
+ * - 최신 메시지부터 키셋(Slice) 페이지로 거슬러 올라가며 문자 예산/최대 개수까지 채움
+ * - 결과 history는 오래된 → 최신 순
+ * 예산이 고정이라 세션이 길어져도 턴당 조회/전송 비용은 상한이 있음
+ */
+@Component
+public class ChatContextBuilder {
+
+    private final ChatMessageRepository messages;
+    private final int maxChars;
+    private final int maxMessages;
+    private final int pageSize;
+
+    public ChatContextBuilder(ChatMessageRepository messages,
+                              @Value("${chat.context.max-chars:6000}") int maxChars,
+                              @Value("${chat.context.max-messages:40}") int maxMessages,
+                              @Value("${chat.context.page-size:20}") int pageSize) {
+        this.messages = messages;
+        this.maxChars = Math.max(1, maxChars);
+        this.maxMessages = Math.max(1, maxMessages);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public record ChatContext(String systemPrompt, List<MessageDto> history) {}
+
+    /**
+     * DB에서 최신순으로 거슬러 올라가며 구성
+     * @param summaryCheckpointId 마지막 요약에 포함된 메시지 ID (없으면 null)
+     */
+    public ChatContext build(UUID sessionId, Long userId, String systemPrompt, Long summaryCheckpointId) {
+        long afterId = 0L;
+        String prompt = systemPrompt;
+        if (summaryCheckpointId != null) {
+            afterId = summaryCheckpointId;
+            prompt = messages.findFirstBySession_IdAndRoleOrderByIdDesc(sessionId, ChatMessage.Role.SUMMARY)
+                    .map(m -> withSummary(systemPrompt, m.getContent()))
+                    .orElse(systemPrompt);
+        }
+        Picker picker = new Picker(prompt);
+
+        Slice<MessageDto> page = messages.findRecentDialog(sessionId, userId, ChatMessage.DIALOG_ROLES, afterId,
+                PageRequest.of(0, pageSize));
+        while (true) {
+            for (MessageDto m : page.getContent()) {
+                if (!picker.offer(m)) return picker.result();
+            }
+            if (!page.hasNext() || page.getContent().isEmpty()) break;
+
+            MessageDto oldest = page.getContent().get(page.getContent().size() - 1);
+            page = messages.findRecentDialogBefore(sessionId, userId, ChatMessage.DIALOG_ROLES, afterId,
+                    oldest.createdAt(), oldest.id(),
+                    PageRequest.of(0, pageSize));
+        }
+        return picker.result();
+    }
+
+    /** 이미 메모리에 있는 최근 대화(오래된 → 최신 순)를 같은 예산으로 자름 */
+    public ChatContext fromRecent(String systemPrompt, List<MessageDto> recent) {
+        Picker picker = new Picker(systemPrompt);
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            if (!picker.offer(recent.get(i))) break;
+        }
+        return picker.result();
+    }
+
+    /** SYSTEM 프롬프트 + 이전 대화 요약 */
+    public static String withSummary(String systemPrompt, String summary) {
+        if (summary == null || summary.isBlank()) return systemPrompt;
+        return (systemPrompt == null ? "" : systemPrompt + "\n\n") + "[지금까지의 대화 요약]\n" + summary;
+    }
+
+    /** 최신 메시지부터 받아서 예산/개수 한도까지 담음 */
+    private final class Picker {
+        private final String systemPrompt;
+        private final List<MessageDto> picked = new ArrayList<>();
+        private int budget;
+
+        Picker(String systemPrompt) {
+            this.systemPrompt = systemPrompt;
+            this.budget = maxChars - (systemPrompt == null ? 0 : systemPrompt.length());
+        }
+
+        /** @return 더 받을 수 있으면 true */
+        boolean offer(MessageDto m) {
+            int len = m.content() == null ? 0 : m.content().length();
+            if (len > budget) {
+                // 최신 메시지 하나가 예산보다 길면 뒷부분만 잘라서라도 포함
+                if (picked.isEmpty() && budget > 0) {
+                    picked.add(new MessageDto(m.id(), m.role(),
+                            m.content().substring(len - budget), m.createdAt()));
+                }
+                return false;
+            }
+            picked.add(m);
+            budget -= len;
+            return picked.size() < maxMessages;
+        }
+
+        ChatContext result() {
+            List<MessageDto> ordered = new ArrayList<>(picked);
+            Collections.reverse(ordered);
+            return new ChatContext(systemPrompt, ordered);
+        }
+    }
+
+    public int maxMessages() {
+        return maxMessages;
+    }
+}
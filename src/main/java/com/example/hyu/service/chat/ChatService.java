@@ -2,15 +2,21 @@ package com.example.hyu.service.chat;
 
 import com.example.hyu.dto.chat.CreateSessionResponse;
 import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.dto.chat.MessageSliceResponse;
 import com.example.hyu.dto.chat.SessionDto;
+import com.example.hyu.dto.chat.SessionInboxResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.UUID;
 
 public interface ChatService {
     CreateSessionResponse create(Long userId);
     Page<SessionDto> list(Long userId, Pageable pageable);
+    SessionInboxResponse inbox(Long userId, String cursor, int size);
     Page<MessageDto> getMessages(Long userId, UUID sessionId, Pageable pageable);
+    MessageSliceResponse scrollMessages(Long userId, UUID sessionId, String before, String after, int size);
     MessageDto send(Long userId, UUID sessionId, String userContent);
+    SseEmitter sendStream(Long userId, UUID sessionId, String userContent);
 }
@@ -3,34 +3,73 @@ package com.example.hyu.service.chat;
 import com.example.hyu.assistant.AssistantClient;
 import com.example.hyu.dto.chat.CreateSessionResponse;
 import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.dto.chat.MessageSliceResponse;
 import com.example.hyu.dto.chat.SessionDto;
+import com.example.hyu.dto.chat.SessionInboxItem;
+import com.example.hyu.dto.chat.SessionInboxResponse;
 import com.example.hyu.entity.ChatMessage;
 import com.example.hyu.entity.ChatSession;
 import com.example.hyu.entity.Profile;
 import com.example.hyu.repository.chat.ChatMessageRepository;
 import com.example.hyu.repository.chat.ChatSessionRepository;
 import com.example.hyu.repository.ProfileRepository;
+import com.example.hyu.service.safety.SafetyEventRecorder;
+import com.example.hyu.service.safety.SafetyScreener;
+import com.example.hyu.support.CursorCodec;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatServiceImpl implements ChatService {
 
+    private static final int PREVIEW_CHARS = 120; // 인박스 미리보기 길이 (컬럼 200자 이내)
+
     private final ChatSessionRepository sessions;
     private final ChatMessageRepository messages;
     private final AssistantClient assistant;
     private final ProfileRepository profiles;
+    private final ChatContextBuilder contextBuilder;      // 최신 대화 + 예산 기반 컨텍스트
+    private final ChatSessionCache sessionCache;          // 소유자/프롬프트/최근 대화 (턴당 조회 생략)
+    private final ChatSummarizer summarizer;              // 긴 세션 요약 (백그라운드)
+    private final ChatArchiver archiver;                  // 콜드 세션 보관/복원
+    private final SafetyScreener safetyScreener;          // 위기 키워드 선별 (인메모리)
+    private final SafetyEventRecorder safetyEvents;       // TriggerEvent/risk_detected 기록 (커밋 후 비동기)
+    private final TransactionTemplate tx;                 // 턴: 생성 전/후 짧은 트랜잭션 (생성 중엔 커넥션 없음)
+    private final ThreadPoolExecutor chatStreamExecutor;  // ExecutorConfig.chatStreamExecutor
+
+    @Value("${chat.stream.timeout-ms:120000}")
+    private long streamTimeoutMillis;
+
+    private TransactionTemplate readTx;                   // 조회용 읽기 전용 (restoreIfCold 이후에 시작)
+
+    @PostConstruct
+    void initReadTx() {
+        readTx = new TransactionTemplate(tx.getTransactionManager());
+        readTx.setReadOnly(true);
+    }
 
     @Override
     @Transactional
@@ -50,6 +89,7 @@ public class ChatServiceImpl implements ChatService {
                 .content(buildSystemPrompt(userId))
                 .build();
         messages.save(sys);
+        sessionCache.load(s.getId(), userId, sys.getContent(), List.of());
 
         return new CreateSessionResponse(s.getId());
     }
@@ -61,67 +101,265 @@ public class ChatServiceImpl implements ChatService {
                 .map(s -> new SessionDto(s.getId(), s.getStatus().name(), s.getUpdatedAt()));
     }
 
+    /**
+     * 세션 인박스: (updatedAt, id) 키셋 페이지 + 비정규화된 미리보기/메시지 수
+     * - 세션별 메시지 조회(N+1) 없이 목록 화면을 한 번에 그림
+     */
     @Override
     @Transactional(readOnly = true)
+    public SessionInboxResponse inbox(Long userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, 100));
+        var page = PageRequest.of(0, limit + 1); // hasMore 판단용 +1
+        List<SessionInboxItem> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = sessions.findInboxFirst(userId, page);
+        } else {
+            CursorCodec.UuidParsed c;
+            try {
+                c = CursorCodec.decodeUuid(cursor);
+            } catch (Exception e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            rows = sessions.findInboxAfter(userId, c.at(), c.id(), page);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<SessionInboxItem> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            SessionInboxItem last = items.get(items.size() - 1);
+            next = CursorCodec.encode(last.updatedAt(), last.id());
+        }
+        return new SessionInboxResponse(items, next, hasMore);
+    }
+
+    @Override
     public Page<MessageDto> getMessages(Long userId, UUID sessionId, Pageable pageable) {
-        ensureOwnership(userId, sessionId);
-        return messages
-                .findBySession_IdAndUserIdOrderByCreatedAtAsc(sessionId, userId, pageable)
-                .map(m -> new MessageDto(
-                        m.getId(),
-                        m.getRole().name(),
-                        m.getContent(),
-                        m.getCreatedAt()
-                ));
+        restoreIfCold(userId, sessionId);
+        return readTx.execute(status -> {
+            ensureOwnership(userId, sessionId);
+            return messages
+                    .findBySession_IdAndUserIdAndRoleNotOrderByCreatedAtAsc(sessionId, userId, ChatMessage.Role.SUMMARY, pageable)
+                    .map(m -> new MessageDto(
+                            m.getId(),
+                            m.getRole().name(),
+                            m.getContent(),
+                            m.getCreatedAt()
+                    ));
+        });
     }
 
+    /**
+     * 키셋(커서) 페이지: COUNT/OFFSET 없이 (createdAt, id) 기준으로 탐색
+     * - 커서 없음: 최신 size개, before: 그보다 과거 size개, after: 그보다 최신 size개
+     * - items는 항상 오래된 → 최신 순, hasMore는 조회 방향 기준 (size+1 조회로 판단)
+     */
+    @Override
+    public MessageSliceResponse scrollMessages(Long userId, UUID sessionId, String before, String after, int size) {
+        if (before != null && !before.isBlank() && after != null && !after.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "use either before or after");
+        }
+        int limit = Math.max(1, Math.min(size, 200));
+        restoreIfCold(userId, sessionId);
+        return readTx.execute(status -> scrollPage(userId, sessionId, before, after, limit));
+    }
+
+    private MessageSliceResponse scrollPage(Long userId, UUID sessionId, String before, String after, int limit) {
+        boolean owned = sessionCache.get(sessionId)
+                .map(e -> e.ownerId().equals(userId))
+                .orElseGet(() -> sessions.existsByIdAndUserId(sessionId, userId));
+        if (!owned) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+
+        var page = PageRequest.of(0, limit + 1); // hasMore 판단용 +1
+        var hidden = ChatMessage.Role.SUMMARY;
+        List<MessageDto> rows;
+        boolean ascending;
+        if (after != null && !after.isBlank()) {
+            CursorCodec.Parsed c = decodeCursor(after);
+            rows = messages.findPageAfter(sessionId, userId, hidden, c.publishedAt(), c.id(), page);
+            ascending = true;
+        } else if (before != null && !before.isBlank()) {
+            CursorCodec.Parsed c = decodeCursor(before);
+            rows = messages.findPageBefore(sessionId, userId, hidden, c.publishedAt(), c.id(), page);
+            ascending = false;
+        } else {
+            rows = messages.findLatestPage(sessionId, userId, hidden, page);
+            ascending = false;
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<MessageDto> items = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+        if (!ascending) Collections.reverse(items);
+
+        if (items.isEmpty()) return new MessageSliceResponse(items, null, null, false);
+        MessageDto first = items.get(0);
+        MessageDto last = items.get(items.size() - 1);
+        return new MessageSliceResponse(
+                items,
+                CursorCodec.encode(first.createdAt(), first.id()),
+                CursorCodec.encode(last.createdAt(), last.id()),
+                hasMore
+        );
+    }
+
+    private CursorCodec.Parsed decodeCursor(String cursor) {
+        try {
+            return CursorCodec.decode(cursor);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * 동기 전송 (streamReply와 같은 구조)
+     * 1) 짧은 트랜잭션으로 사용자 메시지 저장 + 컨텍스트 스냅샷
+     * 2) 트랜잭션/커넥션 없이 assistant.reply (최대 request-timeout-millis)
+     * 3) 짧은 트랜잭션으로 어시스턴트 메시지 저장
+     */
     @Override
-    @Transactional
     public MessageDto send(Long userId, UUID sessionId, String userContent) {
-        ChatSession s = ensureOwnership(userId, sessionId);
+        restoreIfCold(userId, sessionId); // 보관된 세션 복원은 트랜잭션 시작 전에
+        Turn turn = tx.execute(status -> beginTurn(userId, sessionId, userContent));
+        String replyText = assistant.reply(sessionId, turn.systemPrompt(), turn.history(), userContent);
+        return tx.execute(status -> finishTurn(userId, sessionId, replyText));
+    }
 
-        // 1) 사용자 메시지 저장
-        ChatMessage userMsg = messages.save(ChatMessage.builder()
-                .session(s)
-                .userId(userId)
-                .role(ChatMessage.Role.USER)
-                .content(userContent)
-                .build());
+    /**
+     * 스트리밍 전송: 요청 스레드는 SseEmitter만 반환하고, 나머지는 chatStreamExecutor에서
+     * 1) 짧은 트랜잭션으로 사용자 메시지 저장 + 컨텍스트 스냅샷
+     * 2) 트랜잭션/커넥션 없이 응답 조각을 delta 이벤트로 전송
+     * 3) 짧은 트랜잭션으로 어시스턴트 메시지 저장 → done 이벤트(MessageDto)
+     * 세션이 없거나 남의 세션이면 스트림을 열기 전에 404 (send와 동일)
+     * 실패 시 error 이벤트(사유 코드) 후 종료
+     */
+    @Override
+    public SseEmitter sendStream(Long userId, UUID sessionId, String userContent) {
+        boolean owned = sessionCache.get(sessionId)
+                .map(e -> e.ownerId().equals(userId))
+                .orElseGet(() -> sessions.existsByIdAndUserId(sessionId, userId));
+        if (!owned) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
 
-        // 2) (선택) Safety 훅 자리
-        // SafetyResult sr = safetyService.check(userContent, profile.getCrisisResourcesRegion());
-        // if (sr.level()==CRITICAL) { ... }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        try {
+            chatStreamExecutor.execute(() -> streamReply(emitter, userId, sessionId, userContent));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "CHAT_STREAM_BUSY");
+        }
+        return emitter;
+    }
 
-        // 3) 어시스턴트 응답 생성 (더미 어댑터 사용)
-        List<MessageDto> recent = messages
-                .findBySession_IdAndUserIdOrderByCreatedAtAsc(sessionId, userId, PageRequest.of(0, 50))
-                .map(m -> new MessageDto(m.getId(), m.getRole().name(), m.getContent(), m.getCreatedAt()))
-                .getContent();
+    private void streamReply(SseEmitter emitter, Long userId, UUID sessionId, String userContent) {
+        try {
+            // 1) 컨텍스트 스냅샷(DTO) + 사용자 메시지 저장 (보관된 세션 복원은 그 전에, 트랜잭션 밖에서)
+            restoreIfCold(userId, sessionId);
+            Turn turn = tx.execute(status -> beginTurn(userId, sessionId, userContent));
 
-        String systemPrompt = loadSystemPrompt(sessionId, userId);
-        String replyText = assistant.reply(systemPrompt, recent, userContent);
+            // 2) 생성 (클라이언트가 끊겨도 끝까지 생성해서 기록은 남김)
+            AtomicBoolean clientGone = new AtomicBoolean(false);
+            String replyText = assistant.stream(sessionId, turn.systemPrompt(), turn.history(), userContent, chunk -> {
+                if (clientGone.get()) return;
+                try {
+                    emitter.send(SseEmitter.event().name("delta").data(chunk));
+                } catch (IOException | IllegalStateException e) {
+                    clientGone.set(true);
+                }
+            });
 
-        ChatMessage botMsg = messages.save(ChatMessage.builder()
-                .session(s)
-                .userId(userId)
-                .role(ChatMessage.Role.ASSISTANT)
-                .content(replyText)
-                .build());
+            // 3) 어시스턴트 메시지 저장 + 세션 갱신
+            MessageDto bot = tx.execute(status -> finishTurn(userId, sessionId, replyText));
 
-        // 4) 세션 갱신 (updatedAt 갱신)
-        s.setUpdatedAt(Instant.now());
-        // sessions.save(s); // JPA 영속 상태면 생략 가능
+            if (!clientGone.get()) {
+                emitter.send(SseEmitter.event().name("done").data(bot));
+            }
+            emitter.complete();
+        } catch (ResponseStatusException e) {
+            sendError(emitter, e.getReason() != null ? e.getReason() : e.getStatusCode().toString());
+        } catch (Exception e) {
+            log.warn("chat stream failed (session={}): {}", sessionId, e.getMessage());
+            sendError(emitter, "STREAM_FAILED");
+        }
+    }
 
-        return new MessageDto(
-                botMsg.getId(),
-                botMsg.getRole().name(),
-                botMsg.getContent(),
-                botMsg.getCreatedAt()
-        );
+    private void sendError(SseEmitter emitter, String code) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(code));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
     }
 
+    private record Turn(List<MessageDto> history, String systemPrompt) {}
+
     // -------------------- 내부 유틸 --------------------
 
+    /** 턴 시작 (트랜잭션 안): 소유권 확인 + 컨텍스트 스냅샷(DTO) + 사용자 메시지 저장 + 위기 선별 */
+    private Turn beginTurn(Long userId, UUID sessionId, String userContent) {
+        var ctx = prepareTurn(userId, sessionId); // 캐시 hit면 DB 조회 없음
+        MessageDto userMsg = saveMessage(sessionId, userId, ChatMessage.Role.USER, userContent);
+        screen(userId, sessionId, userMsg);       // 감지 시 커밋 후 비동기 기록
+        sessions.recordMessages(sessionId, Instant.now(), preview(userContent), 1);
+        sessionCache.append(sessionId, userMsg);
+        return new Turn(ctx.history(), ctx.systemPrompt());
+    }
+
+    /** 턴 종료 (트랜잭션 안): 어시스턴트 메시지 저장 + 세션 갱신 + 캐시 반영(커밋 후) */
+    private MessageDto finishTurn(Long userId, UUID sessionId, String replyText) {
+        MessageDto botMsg = saveMessage(sessionId, userId, ChatMessage.Role.ASSISTANT, replyText);
+        sessions.recordMessages(sessionId, Instant.now(), preview(replyText), 1);
+        sessionCache.append(sessionId, botMsg);
+        summarizer.request(sessionId); // 커밋 후 백그라운드에서 오래된 대화 요약
+        return botMsg;
+    }
+
+    /**
+     * 캐시 miss면 보관된 세션인지 확인 후 복원 (캐시에 있으면 활성 세션)
+     * - 트랜잭션 밖에서만 호출: 커넥션 1개로 끝나고, 뒤이어 여는 트랜잭션이 복원 결과를 봄
+     */
+    private void restoreIfCold(Long userId, UUID sessionId) {
+        if (sessionCache.get(sessionId).isEmpty()) archiver.restoreIfArchived(sessionId, userId);
+    }
+
+    /** 턴 준비: 캐시 hit면 메모리에서, miss면 DB에서 읽고 캐시 적재 */
+    private ChatContextBuilder.ChatContext prepareTurn(Long userId, UUID sessionId) {
+        var cached = sessionCache.get(sessionId);
+        if (cached.isPresent()) {
+            var e = cached.get();
+            if (!e.ownerId().equals(userId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
+            return contextBuilder.fromRecent(e.systemPrompt(), e.recent());
+        }
+
+        ChatSession s = ensureOwnership(userId, sessionId); // 보관된 세션은 호출 전에 restoreIfCold로 복원됨
+        var ctx = contextBuilder.build(sessionId, userId, loadSystemPrompt(sessionId, userId),
+                s.getSummaryCheckpointId());
+        sessionCache.load(sessionId, userId, ctx.systemPrompt(), ctx.history());
+        return ctx;
+    }
+
+    /** 메시지 INSERT만 수행 (세션은 프록시 참조 → SELECT 없음) */
+    private MessageDto saveMessage(UUID sessionId, Long userId, ChatMessage.Role role, String content) {
+        ChatMessage m = messages.save(ChatMessage.builder()
+                .session(sessions.getReferenceById(sessionId))
+                .userId(userId)
+                .role(role)
+                .content(content)
+                .build());
+        return new MessageDto(m.getId(), m.getRole().name(), m.getContent(), m.getCreatedAt());
+    }
+
+    private void screen(Long userId, UUID sessionId, MessageDto userMsg) {
+        safetyScreener.screen(userMsg.content())
+                .ifPresent(f -> safetyEvents.record(userId, sessionId, userMsg.id(), userMsg.content(), f));
+    }
+
+    private static String preview(String content) {
+        if (content == null) return null;
+        String flat = content.strip().replaceAll("\\s+", " ");
+        return flat.length() <= PREVIEW_CHARS ? flat : flat.substring(0, PREVIEW_CHARS - 1) + "…";
+    }
+
     private ChatSession ensureOwnership(Long userId, UUID sessionId) {
         ChatSession s = sessions.findById(sessionId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
@@ -147,13 +385,8 @@ public class ChatServiceImpl implements ChatService {
 
     /** 세션의 최초 SYSTEM 메시지 내용을 읽어오거나, 없으면 새로 빌드 */
     private String loadSystemPrompt(UUID sessionId, Long userId) {
-        var page = messages.findBySession_IdAndUserIdOrderByCreatedAtAsc(
-                sessionId, userId, PageRequest.of(0, 1)
-        );
-        return page.getContent().stream()
-                .filter(m -> m.getRole() == ChatMessage.Role.SYSTEM) // 엔티티 enum으로 비교
-                .map(ChatMessage::getContent)                        // 엔티티 getter
-                .findFirst()
-                .orElse(buildSystemPrompt(userId));
+        return messages.findFirstBySession_IdAndRoleOrderByCreatedAtAsc(sessionId, ChatMessage.Role.SYSTEM)
+                .map(ChatMessage::getContent)
+                .orElseGet(() -> buildSystemPrompt(userId));
     }
 }
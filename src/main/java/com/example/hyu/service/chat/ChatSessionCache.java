@@ -0,0 +1,111 @@
+package com.example.hyu.service.chat;
+
+import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.support.AfterCommit;
+import com.example.hyu.support.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 대화 캐시 (노드 로컬): 소유자 id + SYSTEM 프롬프트 + 최근 K개 메시지 링 버퍼
+ * - 턴마다 세션/이력/프롬프트 조회 대신 사용 → 정상 턴은 INSERT만 발생
+ * - write-through: 메시지 저장 트랜잭션이 커밋된 뒤에 반영 (롤백 시 캐시 오염 없음)
+ * - idle-ttl 동안 턴이 없으면 만료, 최대 세션 수 초과 시 LRU 제거
+ * - 다른 노드에서 같은 세션에 쓴 메시지는 보이지 않으므로 다중 노드는 세션 고정 라우팅 전제
+ *   (아니면 chat.cache.enabled=false)
+ */
+@Component
+public class ChatSessionCache {
+
+    /** 캐시 항목: 링 버퍼는 세션 단위로 동기화 (ReentrantLock → 가상 스레드 pinning 없음) */
+    public static final class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Long ownerId;
+        private final String systemPrompt;
+        private final int capacity;
+        private final ArrayDeque<MessageDto> ring;
+
+        Entry(Long ownerId, String systemPrompt, int capacity, List<MessageDto> recent) {
+            this.ownerId = ownerId;
+            this.systemPrompt = systemPrompt;
+            this.capacity = capacity;
+            this.ring = new ArrayDeque<>(capacity);
+            recent.forEach(this::append);
+        }
+
+        public Long ownerId() { return ownerId; }
+        public String systemPrompt() { return systemPrompt; }
+
+        void append(MessageDto m) {
+            lock.lock();
+            try {
+                if (ring.size() == capacity) ring.removeFirst();
+                ring.addLast(m);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** 오래된 → 최신 순 복사본 */
+        public List<MessageDto> recent() {
+            lock.lock();
+            try {
+                return List.copyOf(ring);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final int ringSize;
+    private final ExpiringLruCache<UUID, Entry> cache;
+
+    public ChatSessionCache(@Value("${chat.cache.enabled:true}") boolean enabled,
+                            @Value("${chat.cache.ring-size:40}") int ringSize,
+                            @Value("${chat.cache.max-sessions:10000}") int maxSessions,
+                            @Value("${chat.cache.idle-ttl-seconds:600}") long idleTtlSeconds) {
+        this.enabled = enabled;
+        this.ringSize = Math.max(1, ringSize);
+        this.cache = new ExpiringLruCache<>(Math.max(1, maxSessions), Duration.ofSeconds(Math.max(1, idleTtlSeconds)));
+    }
+
+    public Optional<Entry> get(UUID sessionId) {
+        if (!enabled) return Optional.empty();
+        return Optional.ofNullable(cache.get(sessionId));
+    }
+
+    /** DB에서 읽은 상태로 항목 생성 (커밋 후 반영) */
+    public void load(UUID sessionId, Long ownerId, String systemPrompt, List<MessageDto> recent) {
+        if (!enabled) return;
+        Entry e = new Entry(ownerId, systemPrompt, ringSize, recent);
+        AfterCommit.run(() -> cache.put(sessionId, e));
+    }
+
+    /** 저장된 메시지를 링에 추가 (커밋 후 반영, 항목이 없으면 무시 → 다음 턴에 DB에서 재적재) */
+    public void append(UUID sessionId, MessageDto... saved) {
+        if (!enabled) return;
+        AfterCommit.run(() -> {
+            Entry e = cache.get(sessionId);
+            if (e == null) return;
+            for (MessageDto m : saved) e.append(m);
+            cache.put(sessionId, e); // idle 만료 시각 연장
+        });
+    }
+
+    public void evict(UUID sessionId) {
+        cache.invalidate(sessionId);
+    }
+
+    /** 커밋 후 제거 (요약 갱신 등 캐시된 프롬프트가 바뀌는 경우) */
+    public void evictAfterCommit(UUID sessionId) {
+        AfterCommit.run(() -> cache.invalidate(sessionId));
+    }
+}
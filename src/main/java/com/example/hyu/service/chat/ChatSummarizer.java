@@ -0,0 +1,167 @@
+package com.example.hyu.service.chat;
+
+import com.example.hyu.assistant.AssistantClient;
+import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.entity.ChatMessage;
+import com.example.hyu.entity.ChatSession;
+import com.example.hyu.repository.chat.ChatMessageRepository;
+import com.example.hyu.repository.chat.ChatSessionRepository;
+import com.example.hyu.support.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 긴 세션의 오래된 대화를 요약 메시지(Role.SUMMARY)로 접는 백그라운드 작업
+ * - 턴이 커밋된 뒤 request() → chatSummaryExecutor에서 실행 (세션당 동시에 1건만)
+ * - 체크포인트 이후 대화가 trigger-messages를 넘으면, 최근 keep-recent개를 뺀 나머지를
+ *   직전 요약에 이어 AssistantClient.summarize로 요약 → SUMMARY 메시지 저장 + 체크포인트 전진
+ * - 요약 생성은 트랜잭션 밖에서, 저장은 짧은 트랜잭션으로
+ * - 풀이 꽉 차면 건너뜀 (다음 턴에 다시 시도)
+ * - 시작 시 chat_messages.role 컬럼을 1회 확인: 예전 enum 스키마(SUMMARY 없음)면 저장이 매번 실패하므로
+ *   오류 로그를 남기고 요약을 끔 (수동 마이그레이션: README 참고)
+ */
+@Slf4j
+@Component
+public class ChatSummarizer {
+
+    private final ChatSessionRepository sessions;
+    private final ChatMessageRepository messages;
+    private final AssistantClient assistant;
+    private final ChatSessionCache sessionCache;
+    private final TransactionTemplate tx;
+    private final ThreadPoolExecutor executor;
+    private final JdbcTemplate jdbc;
+
+    private volatile boolean enabled;
+    private final int triggerMessages;
+    private final int keepRecent;
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ChatSummarizer(ChatSessionRepository sessions,
+                          ChatMessageRepository messages,
+                          AssistantClient assistant,
+                          ChatSessionCache sessionCache,
+                          TransactionTemplate tx,
+                          @Qualifier("chatSummaryExecutor") ThreadPoolExecutor executor,
+                          JdbcTemplate jdbc,
+                          @Value("${chat.summary.enabled:true}") boolean enabled,
+                          @Value("${chat.summary.trigger-messages:30}") int triggerMessages,
+                          @Value("${chat.summary.keep-recent:10}") int keepRecent) {
+        this.sessions = sessions;
+        this.messages = messages;
+        this.assistant = assistant;
+        this.sessionCache = sessionCache;
+        this.tx = tx;
+        this.executor = executor;
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+        this.keepRecent = Math.max(1, keepRecent);
+        this.triggerMessages = Math.max(this.keepRecent + 1, triggerMessages);
+    }
+
+    /** chat_messages.role 이 SUMMARY를 담을 수 있는지 1회 확인 (못 담으면 요약 끔) */
+    @PostConstruct
+    void checkRoleColumn() {
+        if (!enabled) return;
+        List<String> types;
+        try {
+            types = jdbc.queryForList("""
+                SELECT column_type FROM information_schema.columns
+                 WHERE table_schema = DATABASE()
+                   AND table_name = 'chat_messages'
+                   AND column_name = 'role'
+                """, String.class);
+        } catch (Exception e) {
+            log.warn("chat_messages.role check skipped: {}", e.getMessage());
+            return;
+        }
+        if (types.isEmpty()) return; // 테이블 생성 전 (ddl-auto가 varchar로 생성)
+        String type = types.get(0).toLowerCase();
+        if (type.startsWith("enum(") && !type.contains("'summary'")) {
+            enabled = false;
+            log.error("chat summary disabled: chat_messages.role is {} and cannot store SUMMARY. "
+                    + "Run: ALTER TABLE chat_messages MODIFY role varchar(16) NOT NULL", types.get(0));
+        }
+    }
+
+    /** 턴 저장 트랜잭션 안에서 호출 → 커밋 후 백그라운드 요약 검사 */
+    public void request(UUID sessionId) {
+        if (!enabled) return;
+        AfterCommit.run(() -> submit(sessionId));
+    }
+
+    private void submit(UUID sessionId) {
+        if (!inFlight.add(sessionId)) return; // 이미 진행/대기 중
+        try {
+            executor.execute(() -> {
+                try {
+                    summarizeIfNeeded(sessionId);
+                } catch (Exception e) {
+                    log.warn("chat summary failed (session={}): {}", sessionId, e.getMessage());
+                } finally {
+                    inFlight.remove(sessionId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(sessionId);
+        }
+    }
+
+    /** @return 요약을 새로 저장했으면 true */
+    public boolean summarizeIfNeeded(UUID sessionId) {
+        // 1) 대상 선정 (읽기 트랜잭션)
+        Batch batch = tx.execute(status -> {
+            ChatSession s = sessions.findById(sessionId).orElse(null);
+            if (s == null) return null;
+            long checkpoint = s.getSummaryCheckpointId() == null ? 0L : s.getSummaryCheckpointId();
+
+            long pending = messages.countBySession_IdAndRoleInAndIdGreaterThan(
+                    sessionId, ChatMessage.DIALOG_ROLES, checkpoint);
+            if (pending <= triggerMessages) return null;
+
+            List<MessageDto> older = messages.findDialogAfter(sessionId, ChatMessage.DIALOG_ROLES, checkpoint,
+                    PageRequest.of(0, (int) (pending - keepRecent)));
+            String previous = messages.findFirstBySession_IdAndRoleOrderByIdDesc(sessionId, ChatMessage.Role.SUMMARY)
+                    .map(ChatMessage::getContent)
+                    .orElse(null);
+            return new Batch(s.getUserId(), checkpoint, previous, older);
+        });
+        if (batch == null || batch.older().isEmpty()) return false;
+
+        // 2) 요약 생성 (트랜잭션 밖)
+        String summary = assistant.summarize(sessionId, batch.previous(), batch.older());
+        long next = batch.older().get(batch.older().size() - 1).id();
+
+        // 3) 저장 + 체크포인트 전진 (그 사이 다른 작업이 전진시켰으면 롤백)
+        Boolean saved = tx.execute(status -> {
+            if (sessions.advanceSummaryCheckpoint(sessionId, batch.checkpoint(), next) == 0) {
+                return false;
+            }
+            messages.save(ChatMessage.builder()
+                    .session(sessions.getReferenceById(sessionId))
+                    .userId(batch.userId())
+                    .role(ChatMessage.Role.SUMMARY)
+                    .content(summary)
+                    .build());
+            sessionCache.evictAfterCommit(sessionId); // 캐시된 프롬프트/대화 재적재
+            return true;
+        });
+        return Boolean.TRUE.equals(saved);
+    }
+
+    private record Batch(Long userId, long checkpoint, String previous, List<MessageDto> older) {}
+}
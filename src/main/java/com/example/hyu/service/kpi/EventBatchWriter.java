@@ -0,0 +1,88 @@
+package com.example.hyu.service.kpi;
+
+import com.example.hyu.entity.Event;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * events 다건 INSERT (멀티 로우 VALUES, 한 번의 왕복)
+ * - INSERT IGNORE: uk_events_idem(멱등 키) 중복 행은 조용히 건너뜀 → 사전 조회 없이 멱등 보장
+ * - 반환값: 실제로 들어간 행 수
+ */
+@Component
+@RequiredArgsConstructor
+public class EventBatchWriter {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_HEAD = """
+        INSERT IGNORE INTO events(
+          user_id, event_name, event_time, status, level,
+          session_id, channel, idempotency_key, meta, created_at
+        ) VALUES\s""";
+    private static final String ROW = "(?,?,?,?,?,?,?,?,?,?)";
+
+    private final JdbcTemplate jdbc;
+
+    public int insertIgnore(List<Event> events) {
+        int inserted = 0;
+        for (int from = 0; from < events.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Event> chunk = events.subList(from, Math.min(events.size(), from + MAX_ROWS_PER_STATEMENT));
+            inserted += insertChunk(chunk);
+        }
+        return inserted;
+    }
+
+    /**
+     * 단건 INSERT IGNORE (동기 적재용)
+     * - 멱등 키 중복이면 예외 없이 empty → 호출 측 트랜잭션이 rollback-only로 바뀌지 않음
+     * - 저장되면 생성된 id 반환
+     */
+    public Optional<Long> insertIgnoreOne(Event event) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        int n = jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_HEAD + ROW, Statement.RETURN_GENERATED_KEYS);
+            Object[] args = rowArgs(event).toArray();
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+            return ps;
+        }, keys);
+        if (n == 0 || keys.getKey() == null) return Optional.empty();
+        return Optional.of(keys.getKey().longValue());
+    }
+
+    private int insertChunk(List<Event> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_HEAD);
+        List<Object> args = new ArrayList<>(chunk.size() * 10);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0) sql.append(',');
+            sql.append(ROW);
+            args.addAll(rowArgs(chunk.get(i)));
+        }
+        return jdbc.update(sql.toString(), args.toArray());
+    }
+
+    private List<Object> rowArgs(Event e) {
+        List<Object> args = new ArrayList<>(10);
+        args.add(e.getUserId());
+        args.add(e.getEventName());
+        args.add(e.getEventTime());
+        args.add(e.getStatus());
+        args.add(e.getLevel());
+        args.add(e.getSessionId());
+        args.add(e.getChannel());
+        args.add(e.getIdempotencyKey());
+        args.add(e.getMeta());
+        args.add(Timestamp.from(e.getCreatedAt() == null ? Instant.now() : e.getCreatedAt()));
+        return args;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.hyu.service.kpi;
+
+import com.example.hyu.entity.Event;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 비동기 적재 버퍼 (events.ingest.mode=buffered 일 때만 활성)
+ * - 요청 스레드: 검증된 Event를 유한 큐에 넣고 바로 반환 (DB 왕복 없음)
+ * - 백그라운드 writer: 큐를 batch-size 단위로 모아 EventBatchWriter로 멀티 로우 INSERT IGNORE,
+ *   저장이 끝난 묶음의 멱등 키만 IdempotencyGuard에 기록
+ * - 큐가 가득 차면 overflow 정책에 따라 즉시 429(reject) 또는 offer-timeout 동안 대기(block) 후 429
+ * - 지표: events.ingest.queue.depth / events.ingest.flush / events.ingest.flushed / events.ingest.dropped
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "events.ingest.mode", havingValue = "buffered")
+public class EventIngestBuffer {
+
+    public enum Overflow { REJECT, BLOCK }
+
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final EventBatchWriter writer;
+    private final IdempotencyGuard idempotencyGuard;
+    private final BlockingQueue<Event> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Overflow overflow;
+    private final long offerTimeoutMillis;
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public EventIngestBuffer(EventBatchWriter writer,
+                             IdempotencyGuard idempotencyGuard,
+                             MeterRegistry meters,
+                             @Value("${events.ingest.capacity:10000}") int capacity,
+                             @Value("${events.ingest.batch-size:200}") int batchSize,
+                             @Value("${events.ingest.flush-interval-ms:200}") long flushIntervalMillis,
+                             @Value("${events.ingest.overflow:REJECT}") Overflow overflow,
+                             @Value("${events.ingest.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.writer = writer;
+        this.idempotencyGuard = idempotencyGuard;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(10, flushIntervalMillis);
+        this.overflow = overflow;
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+
+        meters.gauge("events.ingest.queue.depth", queue, BlockingQueue::size);
+        this.flushTimer = Timer.builder("events.ingest.flush")
+                .description("batch insert latency of buffered events")
+                .publishPercentileHistogram()
+                .register(meters);
+        this.flushedCounter = meters.counter("events.ingest.flushed");
+        this.rejectedCounter = meters.counter("events.ingest.dropped", "reason", "queue_full");
+        this.droppedCounter = meters.counter("events.ingest.dropped", "reason", "write_failed");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "event-ingest-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false; // 남은 큐는 writer가 비우고 종료
+        if (writerThread != null) writerThread.join(10_000);
+    }
+
+    /** 큐 적재 (가득 차면 정책에 따라 거절/대기) */
+    public void enqueue(Event event) {
+        boolean accepted;
+        if (overflow == Overflow.BLOCK) {
+            try {
+                accepted = queue.offer(event, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(event);
+        }
+
+        if (!accepted) {
+            rejectedCounter.increment();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "event buffer full");
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    // -------------------- writer --------------------
+
+    private void runWriter() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false; // 인터럽트되면 남은 것만 비우고 종료
+            } catch (Exception e) {
+                log.warn("event ingest writer error: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Event> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            long t0 = System.nanoTime();
+            try {
+                writer.insertIgnore(batch);
+                flushTimer.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+                flushedCounter.increment(batch.size());
+                // 멱등 키는 실제로 저장된 뒤에만 기억 (적재 실패 시 클라이언트 재시도가 dedup으로 막히지 않게)
+                for (Event e : batch) {
+                    if (e.getIdempotencyKey() != null) idempotencyGuard.remember(e.getIdempotencyKey(), null);
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("event batch insert failed (attempt {}/{}, size={}): {}",
+                        attempt, MAX_FLUSH_ATTEMPTS, batch.size(), e.getMessage());
+                if (attempt < MAX_FLUSH_ATTEMPTS) Thread.sleep(100L * attempt);
+            }
+        }
+        droppedCounter.increment(batch.size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.hyu.service.kpi;
+
+import com.example.hyu.dto.kpi.EventRequest;
+import com.example.hyu.entity.EventOutbox;
+import com.example.hyu.repository.kpi.EventOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 업무 트랜잭션에서 발생한 이벤트를 event_outbox 경유로 events에 적재
+ * - append: 호출 측 트랜잭션 안에서 outbox INSERT 1건 (멱등 조회/events 쓰기 없음 → 제출 지연과 분리,
+ *   이벤트 적재 실패가 업무 트랜잭션을 되돌리지 않음)
+ * - relay: 주기적으로 batch-size씩 잠가서 EventBatchWriter로 멀티 로우 INSERT IGNORE 후 outbox 삭제
+ * - 멱등 키는 호출 측이 업무 키로 결정적으로 생성 → 재전송/중복 relay 시에도 uk_events_idem으로 한 번만 적재
+ * - 지표: events.outbox.relayed / events.outbox.duplicates
+ */
+@Slf4j
+@Service
+public class EventOutboxService {
+
+    private static final int MAX_ROUNDS_PER_RUN = 20; // 한 번 실행에서 처리할 최대 묶음 수 (적체 시 다음 실행으로)
+
+    private final EventOutboxRepository outbox;
+    private final EventBatchWriter writer;
+    private final TransactionTemplate tx;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int batchSize;
+
+    private final Counter relayed;
+    private final Counter duplicates;
+
+    public EventOutboxService(EventOutboxRepository outbox,
+                              EventBatchWriter writer,
+                              TransactionTemplate tx,
+                              MeterRegistry meters,
+                              @Value("${events.outbox.batch-size:500}") int batchSize) {
+        this.outbox = outbox;
+        this.writer = writer;
+        this.tx = tx;
+        this.batchSize = Math.max(1, batchSize);
+        this.relayed = meters.counter("events.outbox.relayed");
+        this.duplicates = meters.counter("events.outbox.duplicates");
+    }
+
+    /** 현재 트랜잭션에 이벤트 1건 기록 (커밋되어야 relay 대상) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(EventRequest request, String idemKey) {
+        if (idemKey == null || idemKey.isBlank()) {
+            throw new IllegalArgumentException("outbox event requires idempotency key");
+        }
+        if ("risk_detected".equals(request.eventName()) && (request.level() == null || request.level().isBlank())) {
+            throw new IllegalArgumentException("level required for risk_detected");
+        }
+
+        String meta;
+        try {
+            meta = request.meta() == null ? "{}" : objectMapper.writeValueAsString(request.meta());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("meta must be JSON-serializable", e);
+        }
+
+        Instant now = Instant.now();
+        Instant eventTime = request.eventTime() == null ? now : Instant.parse(request.eventTime());
+        outbox.save(EventOutbox.builder()
+                .userId(request.userId())
+                .eventName(request.eventName())
+                .eventTime(LocalDateTime.ofInstant(eventTime, ZoneOffset.UTC))
+                .status((request.status() == null || request.status().isBlank()) ? "ok" : request.status())
+                .level(request.level())
+                .sessionId(request.sessionId())
+                .idempotencyKey(idemKey)
+                .meta(meta)
+                .createdAt(now)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${events.outbox.relay-ms:1000}", initialDelayString = "${events.outbox.relay-ms:1000}")
+    public void relay() {
+        for (int round = 0; round < MAX_ROUNDS_PER_RUN; round++) {
+            Integer n;
+            try {
+                n = tx.execute(status -> relayBatch());
+            } catch (Exception e) {
+                // outbox 행은 그대로 남음 → 다음 실행에서 재시도
+                log.warn("event outbox relay failed: {}", e.getMessage());
+                return;
+            }
+            if (n == null || n < batchSize) return;
+        }
+    }
+
+    /** @return 처리한 outbox 행 수 */
+    private int relayBatch() {
+        List<EventOutbox> rows = outbox.lockBatch(batchSize);
+        if (rows.isEmpty()) return 0;
+
+        int inserted = writer.insertIgnore(rows.stream().map(EventOutbox::toEvent).toList());
+        outbox.deleteAllByIdInBatch(rows.stream().map(EventOutbox::getId).toList());
+
+        relayed.increment(inserted);
+        duplicates.increment(rows.size() - inserted);
+        return rows.size();
+    }
+}
@@ -5,6 +5,7 @@ import com.example.hyu.entity.Event;
 import com.example.hyu.repository.kpi.EventRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -18,6 +19,9 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EventService {
     private final EventRepository eventRepository;
+    private final ObjectProvider<EventIngestBuffer> ingestBuffer; // events.ingest.mode=buffered 일 때만 존재
+    private final IdempotencyGuard idempotencyGuard;
+    private final EventBatchWriter batchWriter;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // 이벤트 저장 (멱등 키 지원)
@@ -25,6 +29,73 @@ public class EventService {
     // @param idemKey X-Idenmpotency-Key (중복 방지용)
     // @return 저장 결과 (Map)
     public Map<String, Object> ingest(EventRequest request, String idemKey){
+        boolean hasKey = idemKey != null && !idemKey.isBlank();
+
+        // 최근 윈도우 안에서 본 키면 DB 조회 없이 바로 dedup 응답
+        if (hasKey) {
+            var seen = idempotencyGuard.lookup(idemKey);
+            if (seen.isPresent()) {
+                return dedup(seen.get().eventId());
+            }
+        }
+
+        // 버퍼 모드: 검증 후 큐에 적재하고 바로 반환 (중복은 uk_events_idem + INSERT IGNORE로 처리,
+        // 멱등 키는 묶음이 저장된 뒤 버퍼가 기억)
+        EventIngestBuffer buffer = ingestBuffer.getIfAvailable();
+        if (buffer != null) {
+            validate(request);
+            Event event = toEntity(request, idemKey);
+            buffer.enqueue(event);
+            return Map.of(
+                    "ok", true,
+                    "queued", true
+            );
+        }
+
+        validate(request);
+
+        Event event = toEntity(request, idemKey);
+
+        // 멱등 키 없음: 충돌할 제약이 없으므로 그대로 저장
+        if (!hasKey) {
+            eventRepository.save(event);
+            return Map.of(
+                    "ok", true,
+                    "id", event.getId()
+            );
+        }
+
+        // 저장 (가드 miss = 사전 조회 생략, 오래된 중복은 INSERT IGNORE 0건으로 감지)
+        // 예외 대신 0건으로 받으므로 호출 측 트랜잭션(안전 이벤트 기록 등)이 rollback-only로 바뀌지 않음
+        var inserted = batchWriter.insertIgnoreOne(event);
+        if (inserted.isEmpty()) {
+            Event existing = eventRepository.findByIdempotencyKey(idemKey)
+                    .orElseThrow(() -> new IllegalStateException("event insert ignored without duplicate: " + idemKey));
+            idempotencyGuard.remember(idemKey, existing.getId());
+            return dedup(existing.getId());
+        }
+        event.setId(inserted.get());
+        idempotencyGuard.remember(idemKey, event.getId());
+
+        return Map.of(
+                "ok", true,
+                "id", event.getId()
+        );
+    }
+
+    private Map<String, Object> dedup(Long id) {
+        // 버퍼 모드에서 아직 저장 전인 키는 id 없이 응답
+        if (id == null) {
+            return Map.of("ok", true, "dedup", true);
+        }
+        return Map.of(
+                "ok", true,
+                "id", id,
+                "dedup", true
+        );
+    }
+
+    private void validate(EventRequest request) {
         // 위험 이벤트면 level 필수 체크
         if("risk_detected".equals(request.eventName())){
             if(request.level() == null || request.level().isBlank()) {
@@ -32,19 +103,10 @@ public class EventService {
                         "risk_detected");
             }
         }
+    }
 
-        // 멱등 처리 ( 이미 같은 키로 저장된 이벤트가 있는지 확인)
-        if (idemKey != null && !idemKey.isBlank()) {
-            var existing = eventRepository.findByIdempotencyKey(idemKey);
-            if(existing.isPresent()) {
-                return Map.of(
-                        "ok", true,
-                        "id", existing.get().getId(),
-                        "dedup", true
-                );
-            }
-        }
-
+    // 요청 → 엔티티 변환 (동기/버퍼 모드 공통)
+    private Event toEntity(EventRequest request, String idemKey) {
         // eventTime 파싱 (ISO-8601 UTC 형식 -> LocalDateTime
         LocalDateTime eventTimeUtc;
         try {
@@ -62,7 +124,8 @@ public class EventService {
         event.setStatus((request.status() == null || request.status().isBlank()) ? "ok" : request.status());
         event.setLevel(request.level());
         event.setSessionId(request.sessionId());
-        event.setIdempotencyKey(idemKey);
+        event.setIdempotencyKey((idemKey == null || idemKey.isBlank()) ? null : idemKey);
+        event.setCreatedAt(Instant.now());
 
         try {
             event.setMeta(
@@ -71,14 +134,7 @@ public class EventService {
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "meta must be JSON-serializable");
         }
-
-        // 저장
-        eventRepository.save(event);
-
-        return Map.of(
-                "ok", true,
-                "id", event.getId()
-        );
+        return event;
     }
 
 }
@@ -0,0 +1,92 @@
+package com.example.hyu.service.kpi;
+
+import com.example.hyu.support.ExpiringLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 최근 멱등 키 → 이벤트 id 캐시 (events.findByIdempotencyKey 사전 조회 대체)
+ * - 1차: 노드 로컬 LRU (window 동안 유지)
+ * - 2차(선택): Redis idem:{key} (events.idem.redis=true) → 여러 노드가 같은 윈도우 공유
+ * - 둘 다 miss면 "윈도우 안에서는 처음 보는 키" → 조회 없이 INSERT,
+ *   윈도우보다 오래된 중복은 uk_events_idem 제약 위반으로 감지해서 그때만 조회
+ * - 지표: events.idem.guard{result=hit_local|hit_redis|miss}
+ */
+@Slf4j
+@Component
+public class IdempotencyGuard {
+
+    /** eventId가 null이면 버퍼 모드로 적재되어 아직 id가 없는 상태 */
+    public record Seen(Long eventId) {}
+
+    private static final String PENDING = "";
+
+    private final StringRedisTemplate redis;
+    private final ExpiringLruCache<String, Seen> local;
+    private final Duration window;
+    private final boolean redisEnabled;
+
+    private final Counter hitLocal;
+    private final Counter hitRedis;
+    private final Counter miss;
+
+    public IdempotencyGuard(StringRedisTemplate redis,
+                            MeterRegistry meters,
+                            @Value("${events.idem.window-seconds:600}") long windowSeconds,
+                            @Value("${events.idem.max-keys:100000}") int maxKeys,
+                            @Value("${events.idem.redis:false}") boolean redisEnabled) {
+        this.redis = redis;
+        this.window = Duration.ofSeconds(Math.max(1, windowSeconds));
+        this.local = new ExpiringLruCache<>(Math.max(1, maxKeys), window);
+        this.redisEnabled = redisEnabled;
+        this.hitLocal = meters.counter("events.idem.guard", "result", "hit_local");
+        this.hitRedis = meters.counter("events.idem.guard", "result", "hit_redis");
+        this.miss = meters.counter("events.idem.guard", "result", "miss");
+    }
+
+    private String idemKey(String key){ return "idem:" + key; }
+
+    public Optional<Seen> lookup(String key) {
+        Seen seen = local.get(key);
+        if (seen != null) {
+            hitLocal.increment();
+            return Optional.of(seen);
+        }
+
+        if (redisEnabled) {
+            try {
+                String v = redis.opsForValue().get(idemKey(key));
+                if (v != null) {
+                    seen = new Seen(v.isEmpty() ? null : Long.valueOf(v));
+                    local.put(key, seen);
+                    hitRedis.increment();
+                    return Optional.of(seen);
+                }
+            } catch (Exception e) {
+                // Redis 장애 시 miss로 처리 → DB 유니크 제약이 최종 방어선
+                log.warn("idempotency redis lookup failed: {}", e.getMessage());
+            }
+        }
+
+        miss.increment();
+        return Optional.empty();
+    }
+
+    public void remember(String key, Long eventId) {
+        local.put(key, new Seen(eventId));
+        if (redisEnabled) {
+            try {
+                redis.opsForValue().set(idemKey(key), eventId == null ? PENDING : eventId.toString(), window);
+            } catch (Exception e) {
+                log.warn("idempotency redis write failed: {}", e.getMessage());
+            }
+        }
+    }
+}
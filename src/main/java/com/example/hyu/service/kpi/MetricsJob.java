@@ -1,6 +1,8 @@
 package com.example.hyu.service.kpi;
 
+import com.example.hyu.dto.kpi.AggregationBenchmarkRes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -8,6 +10,11 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -16,6 +23,17 @@ public class MetricsJob {
     private final JdbcTemplate jdbc;
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
+    // true: 구간당 events 1회 스캔(조건부 집계), false: 지표별 개별 COUNT 쿼리(기존 방식)
+    @Value("${metrics.aggregation.fused:true}")
+    private boolean fusedAggregation;
+
+    // true: 월/연은 metrics_daily 합산 + 일별 사용자 비트맵 합집합으로 계산 (일별 행이 모두 있을 때만)
+    @Value("${metrics.rollup.incremental:true}")
+    private boolean incrementalRollup;
+
+    // 벤치마크용: 지금까지 실행한 집계 쿼리 수
+    private final AtomicLong queriesIssued = new AtomicLong();
+
     /* =========================
        매일 00:15 KST 실행
        ========================= */
@@ -43,64 +61,101 @@ public class MetricsJob {
     public void computeDaily(LocalDate kstDay) {
         UtcRange r = dayRangeToUtc(kstDay);
 
-        long newSignups = ql("""
-          SELECT COUNT(*) FROM users u
-           WHERE u.created_at >= ? AND u.created_at < ?
-        """, r.s, r.e);
-
-        long dau = ql("""
-          SELECT COUNT(DISTINCT e.user_id) FROM events e
-           WHERE e.status='ok'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, r.s, r.e);
-
-        long aiActive = ql("""
-          SELECT COUNT(DISTINCT e.user_id) FROM events e
-           WHERE e.status='ok' AND e.event_name='ai_chat_user_message'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, r.s, r.e);
-
-        long mild = riskCount("mild", r);
-        long moderate = riskCount("moderate", r);
-        long risk = riskCount("risk", r);
-        long highRisk = riskCount("high_risk", r);
-
-        long checkins = ql("""
-          SELECT COUNT(*) FROM events e
-           WHERE e.status='ok' AND e.event_name='self_assessment_completed'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, r.s, r.e);
+        // 증분 롤업: 같은 events 1회 스캔으로 지표 + 월/연 롤업용 사용자 집합 (표현 불가한 id가 있으면 집합은 null)
+        DailyScan scan = incrementalRollup ? scanDay(r.s, r.e) : new DailyScan(aggregate(r.s, r.e), null);
+        WindowCounts c = scan.counts();
+        DailyUserSets sets = scan.sets();
 
         // 평균 세션 길이는 준비되면 계산, 지금은 null
         Long avgSessionLen = null;
 
-        upsertDailyWide(kstDay, dau, newSignups, aiActive,
-                mild, moderate, risk, highRisk,
-                checkins, avgSessionLen);
+        upsertDailyWide(kstDay, c.activeUsers(), c.newSignups(), c.aiActiveUsers(),
+                c.mild(), c.moderate(), c.risk(), c.highRisk(),
+                c.checkins(), avgSessionLen,
+                sets == null ? null : sets.active().toBytes(),
+                sets == null ? null : sets.aiActive().toBytes());
     }
 
-    private long riskCount(String level, UtcRange r) {
-        return ql("""
-          SELECT COUNT(*) FROM events e
+    private record DailyUserSets(UserIdBitmap active, UserIdBitmap aiActive) {}
+
+    private record DailyScan(WindowCounts counts, DailyUserSets sets) {}
+
+    /**
+     * 하루 구간 events 1회 스캔 (사용자별 GROUP BY)
+     * - 사용자별 부분 합계를 더해 위험/체크인 건수, 그룹 수로 DAU/AI 이용자 계산 (fused 집계와 같은 값)
+     * - 같은 행으로 사용자 비트맵 구성 (int 범위 밖 id가 있으면 sets = null → 월/연은 원본 재스캔)
+     * - user_id NULL 이벤트는 NULL 그룹 한 줄로 건수에만 반영
+     */
+    private DailyScan scanDay(Instant s, Instant e) {
+        long newSignups = ql("""
+          SELECT COUNT(*) FROM users u
+           WHERE u.created_at >= ? AND u.created_at < ?
+        """, s, e);
+
+        DailyScanAcc acc = new DailyScanAcc();
+        queriesIssued.incrementAndGet();
+        jdbc.query("""
+          SELECT e.user_id,
+                 MAX(CASE WHEN e.event_name='ai_chat_user_message' THEN 1 ELSE 0 END)                         AS ai,
+                 SUM(CASE WHEN e.event_name='risk_detected' AND e.level='mild'      THEN 1 ELSE 0 END)        AS mild,
+                 SUM(CASE WHEN e.event_name='risk_detected' AND e.level='moderate'  THEN 1 ELSE 0 END)        AS moderate,
+                 SUM(CASE WHEN e.event_name='risk_detected' AND e.level='risk'      THEN 1 ELSE 0 END)        AS risk,
+                 SUM(CASE WHEN e.event_name='risk_detected' AND e.level='high_risk' THEN 1 ELSE 0 END)        AS high_risk,
+                 SUM(CASE WHEN e.event_name='self_assessment_completed' THEN 1 ELSE 0 END)                    AS checkins
+            FROM events e
            WHERE e.status='ok'
-             AND e.event_name='risk_detected'
-             AND e.level=?
              AND e.event_time >= ? AND e.event_time < ?
-        """, level, r.s, r.e);
+           GROUP BY e.user_id
+        """, rs -> {
+            acc.mild += rs.getLong("mild");
+            acc.moderate += rs.getLong("moderate");
+            acc.risk += rs.getLong("risk");
+            acc.highRisk += rs.getLong("high_risk");
+            acc.checkins += rs.getLong("checkins");
+
+            long uid = rs.getLong("user_id");
+            if (rs.wasNull()) return;
+            boolean ai = rs.getInt("ai") == 1;
+            acc.activeUsers++;
+            if (ai) acc.aiActiveUsers++;
+            if (acc.representable) {
+                if (uid < 0 || uid > Integer.MAX_VALUE) {
+                    acc.representable = false;
+                } else {
+                    acc.active.add(uid);
+                    if (ai) acc.aiActive.add(uid);
+                }
+            }
+        }, s, e);
+
+        WindowCounts counts = new WindowCounts(acc.activeUsers, newSignups, acc.aiActiveUsers,
+                acc.mild, acc.moderate, acc.risk, acc.highRisk, acc.checkins);
+        return new DailyScan(counts, acc.representable ? new DailyUserSets(acc.active, acc.aiActive) : null);
+    }
+
+    // 일 스캔 합산용 임시 컨테이너
+    private static final class DailyScanAcc {
+        long activeUsers, aiActiveUsers;
+        long mild, moderate, risk, highRisk, checkins;
+        boolean representable = true;
+        final UserIdBitmap active = UserIdBitmap.empty();
+        final UserIdBitmap aiActive = UserIdBitmap.empty();
     }
 
     private void upsertDailyWide(
             LocalDate day,
             long dau, long newSignups, long aiActive,
             long mild, long moderate, long risk, long highRisk,
-            long checkins, Long avgSessionLenSeconds
+            long checkins, Long avgSessionLenSeconds,
+            byte[] activeUserSet, byte[] aiActiveUserSet
     ) {
         jdbc.update("""
           INSERT INTO metrics_daily(
             day, daily_active_users, new_signups, ai_active_users,
             mild_event_count, moderate_event_count, risk_event_count, high_risk_event_count,
-            checkin_count, avg_session_length_seconds, computed_at
-          ) VALUES (?,?,?,?,?,?,?,?,?,?,CURRENT_TIMESTAMP)
+            checkin_count, avg_session_length_seconds,
+            active_user_set, ai_active_user_set, computed_at
+          ) VALUES (?,?,?,?,?,?,?,?,?,?,?,?,CURRENT_TIMESTAMP)
           ON DUPLICATE KEY UPDATE
             daily_active_users=VALUES(daily_active_users),
             new_signups=VALUES(new_signups),
@@ -111,10 +166,13 @@ public class MetricsJob {
             high_risk_event_count=VALUES(high_risk_event_count),
             checkin_count=VALUES(checkin_count),
             avg_session_length_seconds=VALUES(avg_session_length_seconds),
+            active_user_set=VALUES(active_user_set),
+            ai_active_user_set=VALUES(ai_active_user_set),
             computed_at=CURRENT_TIMESTAMP
         """, day, dau, newSignups, aiActive,
                 mild, moderate, risk, highRisk,
-                checkins, avgSessionLenSeconds);
+                checkins, avgSessionLenSeconds,
+                activeUserSet, aiActiveUserSet);
     }
 
     /* =========================
@@ -124,49 +182,12 @@ public class MetricsJob {
         LocalDate next = monthStartKst.plusMonths(1);
         Instant s = monthStartKst.atStartOfDay(KST).toInstant();
         Instant e = next.atStartOfDay(KST).toInstant();
-
-        long mau = ql("""
-          SELECT COUNT(DISTINCT e.user_id) FROM events e
-           WHERE e.status='ok'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, s, e);
-
-        long monthlyNew = ql("""
-          SELECT COUNT(*) FROM users u
-           WHERE u.created_at >= ? AND u.created_at < ?
-        """, s, e);
-
-        long aiActiveUsers = ql("""
-          SELECT COUNT(DISTINCT e.user_id) FROM events e
-           WHERE e.status='ok' AND e.event_name='ai_chat_user_message'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, s, e);
-
-        long mild = qlRisk("mild", s, e);
-        long moderate = qlRisk("moderate", s, e);
-        long risk = qlRisk("risk", s, e);
-        long highRisk = qlRisk("high_risk", s, e);
-
-        long monthlyCheckins = ql("""
-          SELECT COUNT(*) FROM events e
-           WHERE e.status='ok' AND e.event_name='self_assessment_completed'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, s, e);
+        WindowCounts c = rollup(monthStartKst, next, s, e);
 
         BigDecimal avgSec = null;
 
-        upsertMonthlyWide(monthStartKst, mau, monthlyNew, aiActiveUsers,
-                mild, moderate, risk, highRisk, monthlyCheckins, avgSec);
-    }
-
-    private long qlRisk(String level, Instant s, Instant e) {
-        return ql("""
-          SELECT COUNT(*) FROM events e
-           WHERE e.status='ok'
-             AND e.event_name='risk_detected'
-             AND e.level=?
-             AND e.event_time >= ? AND e.event_time < ?
-        """, level, s, e);
+        upsertMonthlyWide(monthStartKst, c.activeUsers(), c.newSignups(), c.aiActiveUsers(),
+                c.mild(), c.moderate(), c.risk(), c.highRisk(), c.checkins(), avgSec);
     }
 
     private void upsertMonthlyWide(
@@ -203,40 +224,13 @@ public class MetricsJob {
     public void computeYearly(int year) {
         Instant s = LocalDate.of(year,1,1).atStartOfDay(KST).toInstant();
         Instant e = LocalDate.of(year+1,1,1).atStartOfDay(KST).toInstant();
-
-        long yau = ql("""
-          SELECT COUNT(DISTINCT e.user_id) FROM events e
-           WHERE e.status='ok'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, s, e);
-
-        long yearlyNew = ql("""
-          SELECT COUNT(*) FROM users u
-           WHERE u.created_at >= ? AND u.created_at < ?
-        """, s, e);
-
-        long aiActiveUsers = ql("""
-          SELECT COUNT(DISTINCT e.user_id) FROM events e
-           WHERE e.status='ok' AND e.event_name='ai_chat_user_message'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, s, e);
-
-        long mild = qlRisk("mild", s, e);
-        long moderate = qlRisk("moderate", s, e);
-        long risk = qlRisk("risk", s, e);
-        long highRisk = qlRisk("high_risk", s, e);
-
-        long yearlyCheckins = ql("""
-          SELECT COUNT(*) FROM events e
-           WHERE e.status='ok' AND e.event_name='self_assessment_completed'
-             AND e.event_time >= ? AND e.event_time < ?
-        """, s, e);
+        WindowCounts c = rollup(LocalDate.of(year,1,1), LocalDate.of(year+1,1,1), s, e);
 
         BigDecimal avgSec = null;
 
-        upsertYearlyWide(year, yau, yearlyNew, aiActiveUsers,
-                mild, moderate, risk, highRisk,
-                yearlyCheckins, avgSec);
+        upsertYearlyWide(year, c.activeUsers(), c.newSignups(), c.aiActiveUsers(),
+                c.mild(), c.moderate(), c.risk(), c.highRisk(),
+                c.checkins(), avgSec);
     }
 
     private void upsertYearlyWide(
@@ -267,6 +261,242 @@ public class MetricsJob {
                 yearlyCheckins, avgSessionLenSeconds);
     }
 
+    /* =========================
+       구간 집계 (일/월/연 공통)
+       - fused: events 구간을 한 번만 읽는 조건부 집계 쿼리 1개
+       - legacy: 지표별 COUNT 쿼리 9개 (비교/검증용으로 유지)
+       ========================= */
+    private record WindowCounts(
+            long activeUsers, long newSignups, long aiActiveUsers,
+            long mild, long moderate, long risk, long highRisk,
+            long checkins
+    ) {}
+
+    private WindowCounts aggregate(Instant s, Instant e) {
+        return fusedAggregation ? aggregateFused(s, e) : aggregateLegacy(s, e);
+    }
+
+    private WindowCounts aggregateFused(Instant s, Instant e) {
+        queriesIssued.incrementAndGet();
+        // 신규 가입자는 users 테이블이라 스칼라 서브쿼리로 같은 왕복에 포함
+        return jdbc.queryForObject("""
+          SELECT
+            (SELECT COUNT(*) FROM users u
+              WHERE u.created_at >= ? AND u.created_at < ?)                                   AS new_signups,
+            COUNT(DISTINCT e.user_id)                                                          AS active_users,
+            COUNT(DISTINCT CASE WHEN e.event_name='ai_chat_user_message' THEN e.user_id END)   AS ai_active_users,
+            COALESCE(SUM(CASE WHEN e.event_name='risk_detected' AND e.level='mild'      THEN 1 ELSE 0 END),0) AS mild,
+            COALESCE(SUM(CASE WHEN e.event_name='risk_detected' AND e.level='moderate'  THEN 1 ELSE 0 END),0) AS moderate,
+            COALESCE(SUM(CASE WHEN e.event_name='risk_detected' AND e.level='risk'      THEN 1 ELSE 0 END),0) AS risk,
+            COALESCE(SUM(CASE WHEN e.event_name='risk_detected' AND e.level='high_risk' THEN 1 ELSE 0 END),0) AS high_risk,
+            COALESCE(SUM(CASE WHEN e.event_name='self_assessment_completed' THEN 1 ELSE 0 END),0)            AS checkins
+          FROM events e
+         WHERE e.status='ok'
+           AND e.event_time >= ? AND e.event_time < ?
+        """, (rs, n) -> new WindowCounts(
+                rs.getLong("active_users"),
+                rs.getLong("new_signups"),
+                rs.getLong("ai_active_users"),
+                rs.getLong("mild"),
+                rs.getLong("moderate"),
+                rs.getLong("risk"),
+                rs.getLong("high_risk"),
+                rs.getLong("checkins")
+        ), s, e, s, e);
+    }
+
+    private WindowCounts aggregateLegacy(Instant s, Instant e) {
+        long activeUsers = ql("""
+          SELECT COUNT(DISTINCT e.user_id) FROM events e
+           WHERE e.status='ok'
+             AND e.event_time >= ? AND e.event_time < ?
+        """, s, e);
+
+        long newSignups = ql("""
+          SELECT COUNT(*) FROM users u
+           WHERE u.created_at >= ? AND u.created_at < ?
+        """, s, e);
+
+        long aiActiveUsers = ql("""
+          SELECT COUNT(DISTINCT e.user_id) FROM events e
+           WHERE e.status='ok' AND e.event_name='ai_chat_user_message'
+             AND e.event_time >= ? AND e.event_time < ?
+        """, s, e);
+
+        long mild = qlRisk("mild", s, e);
+        long moderate = qlRisk("moderate", s, e);
+        long risk = qlRisk("risk", s, e);
+        long highRisk = qlRisk("high_risk", s, e);
+
+        long checkins = ql("""
+          SELECT COUNT(*) FROM events e
+           WHERE e.status='ok' AND e.event_name='self_assessment_completed'
+             AND e.event_time >= ? AND e.event_time < ?
+        """, s, e);
+
+        return new WindowCounts(activeUsers, newSignups, aiActiveUsers,
+                mild, moderate, risk, highRisk, checkins);
+    }
+
+    private long qlRisk(String level, Instant s, Instant e) {
+        return ql("""
+          SELECT COUNT(*) FROM events e
+           WHERE e.status='ok'
+             AND e.event_name='risk_detected'
+             AND e.level=?
+             AND e.event_time >= ? AND e.event_time < ?
+        """, level, s, e);
+    }
+
+    /* =========================
+       증분 롤업 (월/연 ← metrics_daily)
+       - 가산 지표(가입/위험/체크인)는 일별 행 합산
+       - distinct 지표(MAU/YAU, AI 이용자)는 일별 사용자 비트맵 합집합의 크기
+       - 구간 내 (어제까지의) 모든 날짜에 비트맵이 있는 행이 있어야 사용, 아니면 원본 재스캔
+       - 구간에 오늘(KST)이 포함되면 오늘은 아직 일별 행이 없으므로 원본 하루치를 한 번 스캔해 더함
+         → 원본 재스캔 경로와 같은 값
+       ========================= */
+    private WindowCounts rollup(LocalDate from, LocalDate to, Instant s, Instant e) {
+        if (incrementalRollup) {
+            Optional<WindowCounts> fromDaily = rollupFromDaily(from, to);
+            if (fromDaily.isPresent()) return fromDaily.get();
+        }
+        return aggregate(s, e);
+    }
+
+    private Optional<WindowCounts> rollupFromDaily(LocalDate from, LocalDate to) {
+        LocalDate todayKst = LocalDate.now(KST);
+        LocalDate until = to.isAfter(todayKst) ? todayKst : to;
+        long expectedDays = ChronoUnit.DAYS.between(from, until);
+        if (expectedDays <= 0) return Optional.empty();
+
+        RollupAcc acc = new RollupAcc();
+        queriesIssued.incrementAndGet();
+        jdbc.query("""
+          SELECT new_signups, mild_event_count, moderate_event_count,
+                 risk_event_count, high_risk_event_count, checkin_count,
+                 active_user_set, ai_active_user_set
+            FROM metrics_daily
+           WHERE day >= ? AND day < ?
+        """, rs -> {
+            byte[] active = rs.getBytes("active_user_set");
+            byte[] aiActive = rs.getBytes("ai_active_user_set");
+            if (active == null || aiActive == null) return; // 비트맵 도입 전 행 → 커버리지 미달로 처리
+            acc.days++;
+            acc.newSignups += rs.getLong("new_signups");
+            acc.mild += rs.getLong("mild_event_count");
+            acc.moderate += rs.getLong("moderate_event_count");
+            acc.risk += rs.getLong("risk_event_count");
+            acc.highRisk += rs.getLong("high_risk_event_count");
+            acc.checkins += rs.getLong("checkin_count");
+            acc.active.or(UserIdBitmap.fromBytes(active));
+            acc.aiActive.or(UserIdBitmap.fromBytes(aiActive));
+        }, from, until);
+
+        if (acc.days < expectedDays) return Optional.empty();
+
+        if (to.isAfter(todayKst)) {
+            UtcRange today = dayRangeToUtc(todayKst);
+            DailyScan live = scanDay(today.s, today.e);
+            if (live.sets() == null) return Optional.empty();
+            WindowCounts c = live.counts();
+            acc.newSignups += c.newSignups();
+            acc.mild += c.mild();
+            acc.moderate += c.moderate();
+            acc.risk += c.risk();
+            acc.highRisk += c.highRisk();
+            acc.checkins += c.checkins();
+            acc.active.or(live.sets().active());
+            acc.aiActive.or(live.sets().aiActive());
+        }
+        return Optional.of(new WindowCounts(
+                acc.active.cardinality(), acc.newSignups, acc.aiActive.cardinality(),
+                acc.mild, acc.moderate, acc.risk, acc.highRisk, acc.checkins
+        ));
+    }
+
+    // 롤업 합산용 임시 컨테이너
+    private static final class RollupAcc {
+        long days;
+        long newSignups, mild, moderate, risk, highRisk, checkins;
+        final UserIdBitmap active = UserIdBitmap.empty();
+        final UserIdBitmap aiActive = UserIdBitmap.empty();
+    }
+
+    public static final int MAX_BACKFILL_DAYS = 92;
+
+    /**
+     * 기간 일괄 재집계 (비트맵 도입 전 일별 행 채우기 등)
+     * - 호출 스레드에서 하루씩 events 스캔 → 한 번에 MAX_BACKFILL_DAYS일까지 (더 길면 나눠서 호출)
+     */
+    public void computeDailyRange(LocalDate fromKst, LocalDate toKst) {
+        if (fromKst == null || toKst == null || fromKst.isAfter(toKst)) {
+            throw new IllegalArgumentException("from must be on or before to");
+        }
+        if (ChronoUnit.DAYS.between(fromKst, toKst) >= MAX_BACKFILL_DAYS) {
+            throw new IllegalArgumentException("range must be at most " + MAX_BACKFILL_DAYS + " days");
+        }
+        if (toKst.isAfter(LocalDate.now(KST))) {
+            throw new IllegalArgumentException("to must not be in the future");
+        }
+        for (LocalDate d = fromKst; !d.isAfter(toKst); d = d.plusDays(1)) {
+            computeDaily(d);
+        }
+    }
+
+    /* =========================
+       BENCHMARK (fused vs legacy)
+       - 해당 일자가 속한 일/월/연 구간을 두 방식으로 runs회씩 집계 (upsert 없음)
+       - 쿼리 수, 평균 소요시간, 결과 일치 여부 반환
+       - 운영 DB 전체 스캔을 runs × 6회 → runs는 1~MAX_BENCHMARK_RUNS
+       ========================= */
+    public static final int MAX_BENCHMARK_RUNS = 10;
+
+    public List<AggregationBenchmarkRes> benchmark(LocalDate kstDay, int runs) {
+        if (runs < 1 || runs > MAX_BENCHMARK_RUNS) {
+            throw new IllegalArgumentException("runs must be 1~" + MAX_BENCHMARK_RUNS);
+        }
+        int n = runs;
+        LocalDate monthStart = kstDay.withDayOfMonth(1);
+        LocalDate yearStart = kstDay.withDayOfYear(1);
+
+        List<AggregationBenchmarkRes> out = new ArrayList<>();
+        out.add(benchmarkWindow("daily", kstDay, kstDay.plusDays(1), n));
+        out.add(benchmarkWindow("monthly", monthStart, monthStart.plusMonths(1), n));
+        out.add(benchmarkWindow("yearly", yearStart, yearStart.plusYears(1), n));
+        return out;
+    }
+
+    private AggregationBenchmarkRes benchmarkWindow(String window, LocalDate from, LocalDate to, int runs) {
+        Instant s = from.atStartOfDay(KST).toInstant();
+        Instant e = to.atStartOfDay(KST).toInstant();
+
+        WindowCounts legacy = null, fused = null;
+        long legacyNanos = 0, fusedNanos = 0;
+        long legacyQueries = 0, fusedQueries = 0;
+
+        for (int i = 0; i < runs; i++) {
+            long q0 = queriesIssued.get();
+            long t0 = System.nanoTime();
+            legacy = aggregateLegacy(s, e);
+            legacyNanos += System.nanoTime() - t0;
+            legacyQueries += queriesIssued.get() - q0;
+
+            q0 = queriesIssued.get();
+            t0 = System.nanoTime();
+            fused = aggregateFused(s, e);
+            fusedNanos += System.nanoTime() - t0;
+            fusedQueries += queriesIssued.get() - q0;
+        }
+
+        return new AggregationBenchmarkRes(
+                window, from, to, runs,
+                legacyQueries / runs, legacyNanos / runs / 1_000_000.0,
+                fusedQueries / runs, fusedNanos / runs / 1_000_000.0,
+                legacy.equals(fused)
+        );
+    }
+
     /* =========================
        RETENTION (D1/D7/D30)
        ========================= */
@@ -332,6 +562,7 @@ public class MetricsJob {
     }
 
     private long ql(String sql, Object... args) {
+        queriesIssued.incrementAndGet();
         Long v = jdbc.queryForObject(sql, args, Long.class);
         return v == null ? 0L : v;
     }
@@ -0,0 +1,82 @@
+package com.example.hyu.service.kpi;
+
+import java.io.ByteArrayOutputStream;
+import java.util.BitSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 사용자 id 집합을 비트맵으로 표현 (정확한 distinct 집계용)
+ * - 일별 활성 사용자 집합을 metrics_daily 옆에 저장해두고,
+ *   월/연 MAU·YAU는 COUNT(DISTINCT) 재스캔 대신 비트맵 합집합(OR)으로 계산
+ * - 저장 형식: BitSet.toByteArray()를 Deflate로 압축한 바이트 (희소 집합도 작게 유지)
+ */
+public final class UserIdBitmap {
+
+    private final BitSet bits;
+
+    private UserIdBitmap(BitSet bits) {
+        this.bits = bits;
+    }
+
+    public static UserIdBitmap empty() {
+        return new UserIdBitmap(new BitSet());
+    }
+
+    /** users.id는 IDENTITY 값이라 int 범위를 넘으면 비트맵으로 표현하지 않음 */
+    public void add(long userId) {
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("userId out of bitmap range: " + userId);
+        }
+        bits.set((int) userId);
+    }
+
+    /** 합집합 (this |= other) */
+    public UserIdBitmap or(UserIdBitmap other) {
+        bits.or(other.bits);
+        return this;
+    }
+
+    public long cardinality() {
+        return bits.cardinality();
+    }
+
+    public byte[] toBytes() {
+        byte[] raw = bits.toByteArray();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(16, raw.length / 4));
+            byte[] buf = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static UserIdBitmap fromBytes(byte[] compressed) {
+        if (compressed == null || compressed.length == 0) return empty();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buf = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                out.write(buf, 0, n);
+            }
+            return new UserIdBitmap(BitSet.valueOf(out.toByteArray()));
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted user bitmap", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
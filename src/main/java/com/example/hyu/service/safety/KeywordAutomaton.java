@@ -0,0 +1,81 @@
+package com.example.hyu.service.safety;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다중 키워드 매칭용 Aho-Corasick 오토마톤 (생성 후 불변, 스레드 안전)
+ * - 입력 길이에 선형: 키워드 수와 무관하게 텍스트를 한 번만 훑음
+ * - 키워드/입력 정규화는 호출 측 책임 (같은 규칙으로 맞춰서 넣을 것)
+ */
+public final class KeywordAutomaton<T> {
+
+    private final Node<T> root;
+
+    private KeywordAutomaton(Node<T> root) {
+        this.root = root;
+    }
+
+    public static <T> KeywordAutomaton<T> build(Map<String, T> keywords) {
+        Node<T> root = new Node<>();
+        // 1) trie
+        keywords.forEach((kw, value) -> {
+            if (kw == null || kw.isEmpty()) throw new IllegalArgumentException("empty keyword");
+            Node<T> n = root;
+            for (int i = 0; i < kw.length(); i++) {
+                n = n.next.computeIfAbsent(kw.charAt(i), c -> new Node<>());
+            }
+            n.outputs.add(new Match<>(kw, value, -1));
+        });
+
+        // 2) 실패 링크 (BFS), 실패 노드의 출력은 미리 합쳐 둠
+        ArrayDeque<Node<T>> queue = new ArrayDeque<>();
+        for (Node<T> child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node<T> n = queue.poll();
+            for (Map.Entry<Character, Node<T>> e : n.next.entrySet()) {
+                char c = e.getKey();
+                Node<T> child = e.getValue();
+                Node<T> f = n.fail;
+                while (f != root && !f.next.containsKey(c)) f = f.fail;
+                Node<T> target = f.next.get(c);
+                child.fail = (target != null && target != child) ? target : root;
+                child.outputs.addAll(child.fail.outputs);
+                queue.add(child);
+            }
+        }
+        return new KeywordAutomaton<>(root);
+    }
+
+    /** 등장한 모든 키워드 (겹침 포함, 등장 순서, end = 입력에서 키워드가 끝나는 위치(exclusive)) */
+    public List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> found = new ArrayList<>();
+        Node<T> n = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (n != root && !n.next.containsKey(c)) n = n.fail;
+            n = n.next.getOrDefault(c, root);
+            for (Match<T> m : n.outputs) found.add(new Match<>(m.keyword(), m.value(), i + 1));
+        }
+        return found;
+    }
+
+    public record Match<T>(String keyword, T value, int end) {
+
+        public int start() {
+            return end - keyword.length();
+        }
+    }
+
+    private static final class Node<T> {
+        final Map<Character, Node<T>> next = new HashMap<>();
+        final List<Match<T>> outputs = new ArrayList<>(1);
+        Node<T> fail;
+    }
+}
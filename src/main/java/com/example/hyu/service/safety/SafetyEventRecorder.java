@@ -0,0 +1,79 @@
+package com.example.hyu.service.safety;
+
+import com.example.hyu.dto.kpi.EventRequest;
+import com.example.hyu.entity.TriggerEvent;
+import com.example.hyu.repository.TriggerEventRepository;
+import com.example.hyu.service.kpi.EventService;
+import com.example.hyu.support.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 위기 신호 기록 (채팅 응답 경로 밖에서 실행)
+ * - 메시지 저장이 커밋된 뒤 safetyEventExecutor에서 TriggerEvent + risk_detected 이벤트 저장
+ * - risk_detected: level(high_risk/risk/moderate), meta.source="chat" → AdminMetrics 소스별 분해에 집계
+ * - 멱등 키 risk:chat:{messageId} → 재시도/중복 호출에도 이벤트 1건
+ */
+@Slf4j
+@Component
+public class SafetyEventRecorder {
+
+    private final TriggerEventRepository triggerEvents;
+    private final EventService eventService;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public SafetyEventRecorder(TriggerEventRepository triggerEvents,
+                               EventService eventService,
+                               @Qualifier("safetyEventExecutor") ThreadPoolExecutor executor,
+                               MeterRegistry meterRegistry) {
+        this.triggerEvents = triggerEvents;
+        this.eventService = eventService;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 메시지 저장 트랜잭션 안에서 호출 → 커밋 후 비동기 기록 */
+    public void record(Long userId, UUID sessionId, Long messageId, String text, SafetyScreener.Finding finding) {
+        meterRegistry.counter("chat.safety.detected", "risk", finding.risk().name()).increment();
+        AfterCommit.run(() -> executor.execute(() -> {
+            try {
+                save(userId, sessionId, messageId, text, finding);
+            } catch (Exception e) {
+                log.warn("safety event save failed (message={}): {}", messageId, e.getMessage());
+            }
+        }));
+    }
+
+    void save(Long userId, UUID sessionId, Long messageId, String text, SafetyScreener.Finding finding) {
+        Instant now = Instant.now();
+        triggerEvents.save(TriggerEvent.builder()
+                .userId(userId)
+                .detectedText(text)
+                .type(finding.type())
+                .status(TriggerEvent.Status.NEW)
+                .createdAt(now)
+                .risk(finding.risk())
+                .source(TriggerEvent.Source.CHAT)
+                .sourceId(messageId)
+                .build());
+
+        eventService.ingest(new EventRequest(
+                userId,
+                "risk_detected",
+                now.toString(),
+                "ok",
+                finding.level(),
+                sessionId.toString(),
+                Map.of("source", "chat", "type", finding.type().name(), "score", finding.score(),
+                        "hits", finding.hits(), "messageId", messageId)
+        ), "risk:chat:" + messageId);
+    }
+}
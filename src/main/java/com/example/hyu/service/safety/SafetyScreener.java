@@ -0,0 +1,172 @@
+package com.example.hyu.service.safety;
+
+import com.example.hyu.entity.TriggerEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 채팅 메시지 위기 키워드 선별 (be2-ai detect_crisis_keywords 와 같은 사전/가중치)
+ * - 한글 키워드: NFKC + 소문자 + 공백/제로폭 문자 제거 후 Aho-Corasick 한 번으로 검사
+ *   ("죽 고 싶", "자 살" 같은 띄어쓰기/우회 표기도 동일하게 매칭)
+ *   단, EXCLUDE의 알려진 합성어("칼국수", "칼로리" …) 안에 들어간 매칭은 버림
+ * - 영문 키워드: 공백은 한 칸으로만 줄이고 단어 경계가 맞을 때만 매칭 ("die" ≠ "diet", "studied")
+ * - 오탐 하나가 TriggerEvent + risk_detected 이벤트로 남으므로 매칭은 보수적으로
+ * - 점수 = 매칭된 키워드 가중치 합 → 3 이상 HIGH, 2 MEDIUM, 1 LOW
+ * - 유형: 자해/극단선택 키워드가 하나라도 있으면 SUICIDE, 아니면 VIOLENCE
+ */
+@Component
+public class SafetyScreener {
+
+    private static final Map<String, Rule> DICT = dictionary();
+    private static final KeywordAutomaton<Rule> HANGUL = KeywordAutomaton.build(normalizedKeys(DICT, true));
+    private static final KeywordAutomaton<Rule> LATIN = KeywordAutomaton.build(normalizedKeys(DICT, false));
+
+    // 한글 키워드를 포함하지만 위기 표현이 아닌 합성어 (공백 제거 기준)
+    private static final KeywordAutomaton<String> EXCLUDE = KeywordAutomaton.build(excludeKeys(List.of(
+            "칼국수", "칼로리", "칼슘", "칼럼", "칼퇴", "칼각", "칼바람", "칼칼",
+            "죽여주", "베어스", "베어물", "목숨걸고")));
+
+    private final boolean enabled;
+
+    public SafetyScreener(@Value("${chat.safety.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Optional<Finding> screen(String text) {
+        if (!enabled || text == null || text.isBlank()) return Optional.empty();
+
+        List<Rule> matched = new ArrayList<>();
+        String compact = normalize(text);
+        List<KeywordAutomaton.Match<String>> excluded = EXCLUDE.findAll(compact);
+        for (KeywordAutomaton.Match<Rule> m : HANGUL.findAll(compact)) {
+            if (!insideAny(m, excluded)) matched.add(m.value());
+        }
+        String words = normalizeWords(text);
+        for (KeywordAutomaton.Match<Rule> m : LATIN.findAll(words)) {
+            if (isWordBoundary(words, m.start() - 1) && isWordBoundary(words, m.end())) matched.add(m.value());
+        }
+
+        Set<String> hits = new LinkedHashSet<>();
+        int score = 0;
+        boolean selfHarm = false;
+        for (Rule r : matched) {
+            if (!hits.add(r.keyword())) continue; // 같은 키워드 반복은 한 번만
+            score += r.weight();
+            selfHarm |= r.type() == TriggerEvent.TriggerType.SUICIDE;
+        }
+        if (hits.isEmpty()) return Optional.empty();
+
+        TriggerEvent.Risk risk = score >= 3 ? TriggerEvent.Risk.HIGH
+                : score == 2 ? TriggerEvent.Risk.MEDIUM
+                : TriggerEvent.Risk.LOW;
+        TriggerEvent.TriggerType type = selfHarm ? TriggerEvent.TriggerType.SUICIDE : TriggerEvent.TriggerType.VIOLENCE;
+        return Optional.of(new Finding(type, risk, score, List.copyOf(hits)));
+    }
+
+    /** NFKC → 소문자 → 공백류/제로폭 문자 제거 */
+    static String normalize(String s) {
+        String n = Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(n.length());
+        for (int i = 0; i < n.length(); i++) {
+            char c = n.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) continue;
+            if (isZeroWidth(c)) continue;
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /** NFKC → 소문자 → 제로폭 문자 제거, 공백류는 한 칸으로 (영문 단어 경계 매칭용) */
+    static String normalizeWords(String s) {
+        String n = Normalizer.normalize(s, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(n.length());
+        for (int i = 0; i < n.length(); i++) {
+            char c = n.charAt(i);
+            if (isZeroWidth(c)) continue;
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                if (!sb.isEmpty() && sb.charAt(sb.length() - 1) != ' ') sb.append(' ');
+                continue;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isZeroWidth(char c) {
+        return c == '\u200b' || c == '\u200c' || c == '\u200d' || c == '\u2060' || c == '\ufeff' || c == '\u180e';
+    }
+
+    private static boolean isWordBoundary(String text, int i) {
+        return i < 0 || i >= text.length() || !Character.isLetterOrDigit(text.charAt(i));
+    }
+
+    private static boolean insideAny(KeywordAutomaton.Match<?> m, List<KeywordAutomaton.Match<String>> spans) {
+        for (KeywordAutomaton.Match<String> e : spans) {
+            if (e.start() <= m.start() && m.end() <= e.end()) return true;
+        }
+        return false;
+    }
+
+    static boolean isHangulKey(String keyword) {
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.UnicodeScript.of(keyword.charAt(i)) == Character.UnicodeScript.HANGUL) return true;
+        }
+        return false;
+    }
+
+    private static Map<String, Rule> normalizedKeys(Map<String, Rule> dict, boolean hangul) {
+        Map<String, Rule> out = new LinkedHashMap<>();
+        for (Rule r : dict.values()) {
+            if (isHangulKey(r.keyword()) != hangul) continue;
+            // "죽고싶"/"죽고 싶" → 하나로, 영문은 공백 한 칸 유지
+            out.putIfAbsent(hangul ? normalize(r.keyword()) : normalizeWords(r.keyword()), r);
+        }
+        return out;
+    }
+
+    private static Map<String, String> excludeKeys(List<String> words) {
+        Map<String, String> out = new LinkedHashMap<>();
+        words.forEach(w -> out.put(normalize(w), w));
+        return out;
+    }
+
+    // be2-ai app.py SEVERITY_DICT 기준 (3: 자해/극단선택, 2: 타해/폭력, 1: 소극적 자해 암시)
+    private static Map<String, Rule> dictionary() {
+        Map<String, Rule> d = new LinkedHashMap<>();
+        for (String kw : List.of("자살", "극단선택", "죽고싶", "죽을래", "스스로 해", "목숨", "뛰어내리", "목매",
+                "die", "kill myself", "suicide")) {
+            d.put(kw, new Rule(kw, 3, TriggerEvent.TriggerType.SUICIDE));
+        }
+        for (String kw : List.of("해치고", "죽여", "죽일", "칼", "폭력", "피흘", "베어", "없애버", "harm others")) {
+            d.put(kw, new Rule(kw, 2, TriggerEvent.TriggerType.VIOLENCE));
+        }
+        for (String kw : List.of("살기싫", "살고싶지 않", "사라지고", "없어지고", "힘들어서 끝내", "self-harm")) {
+            d.put(kw, new Rule(kw, 1, TriggerEvent.TriggerType.SUICIDE));
+        }
+        return d;
+    }
+
+    record Rule(String keyword, int weight, TriggerEvent.TriggerType type) {}
+
+    public record Finding(TriggerEvent.TriggerType type, TriggerEvent.Risk risk, int score, List<String> hits) {
+
+        /** events.level 값 (AdminMetrics 집계 기준) */
+        public String level() {
+            return switch (risk) {
+                case HIGH -> "high_risk";
+                case MEDIUM -> "risk";
+                case LOW -> "moderate";
+            };
+        }
+    }
+}
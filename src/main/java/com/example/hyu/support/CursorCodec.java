@@ -3,22 +3,54 @@ package com.example.hyu.support;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.UUID;
 
 public final class CursorCodec {
     private CursorCodec() {}
 
     public static String encode(Instant publishedAt, Long id) {
-        String raw = publishedAt.toEpochMilli() + ":" + id;
-        return Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        return encodeRaw(publishedAt, String.valueOf(id));
+    }
+
+    public static String encode(Instant publishedAt, UUID id) {
+        return encodeRaw(publishedAt, id.toString());
     }
 
     public static Parsed decode(String cursor) {
         if (cursor == null || cursor.isBlank()) return null;
+        String[] sp = decodeRaw(cursor);
+        return new Parsed(parseInstant(sp[0]), Long.parseLong(sp[1]));
+    }
+
+    public static UuidParsed decodeUuid(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String[] sp = decodeRaw(cursor);
+        return new UuidParsed(parseInstant(sp[0]), UUID.fromString(sp[1]));
+    }
+
+    // epochMilli[.밀리초 미만 nanos] — DB 컬럼(datetime(6))이 밀리초보다 정밀해서, 잘라내면 같은 ms 안의 행이 중복/누락됨
+    private static String encodeRaw(Instant at, String id) {
+        int subMillis = at.getNano() % 1_000_000;
+        String ts = subMillis == 0 ? String.valueOf(at.toEpochMilli()) : at.toEpochMilli() + "." + subMillis;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((ts + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeRaw(String cursor) {
         String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
-        String[] sp = raw.split(":");
-        return new Parsed(Instant.ofEpochMilli(Long.parseLong(sp[0])), Long.parseLong(sp[1]));
+        String[] sp = raw.split(":", 2);
+        if (sp.length != 2) throw new IllegalArgumentException("malformed cursor");
+        return sp;
+    }
+
+    private static Instant parseInstant(String ts) {
+        int dot = ts.indexOf('.');
+        if (dot < 0) return Instant.ofEpochMilli(Long.parseLong(ts)); // 이전 형식 호환
+        return Instant.ofEpochMilli(Long.parseLong(ts.substring(0, dot)))
+                .plusNanos(Long.parseLong(ts.substring(dot + 1)));
     }
 
     public record Parsed(Instant publishedAt, Long id) {}
-}
\ No newline at end of file
+
+    public record UuidParsed(Instant at, UUID id) {}
+}
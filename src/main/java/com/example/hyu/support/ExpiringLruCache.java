@@ -0,0 +1,92 @@
+package com.example.hyu.support;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크기 제한 + 만료 시간이 있는 인메모리 LRU 캐시
+ * - maxSize 초과 시 가장 오래 안 쓴 항목부터 제거
+ * - 항목별 만료 시각: 기본 ttl, put 시 더 이른 시각을 따로 줄 수 있음 (예: 토큰 만료)
+ * - null 값은 저장하지 않음 (get의 null = 없음/만료)
+ * - synchronized 대신 ReentrantLock: 가상 스레드 모드에서 캐리어 스레드 고정(pinning) 방지
+ */
+public final class ExpiringLruCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtMillis) {}
+
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> map;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ExpiringLruCache(int maxSize, Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> e = map.get(key);
+            if (e == null) return null;
+            if (e.expiresAtMillis() <= System.currentTimeMillis()) {
+                map.remove(key);
+                return null;
+            }
+            return e.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /** 기본 ttl과 expiresAtMillis 중 더 이른 시각에 만료 */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (value == null) return;
+        long now = System.currentTimeMillis();
+        long until = Math.min(expiresAtMillis, now + ttlMillis);
+        if (until <= now) return;
+        lock.lock();
+        try {
+            map.put(key, new Entry<>(value, until));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            map.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            map.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
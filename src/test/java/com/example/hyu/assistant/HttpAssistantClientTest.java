@@ -0,0 +1,166 @@
+package com.example.hyu.assistant;
+
+import com.example.hyu.dto.chat.MessageDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpAssistantClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicReference<String> apiKey = new AtomicReference<>();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile String contentType = "application/json";
+    private volatile String body = "";
+
+    private final DummyAssistantClient templates = new DummyAssistantClient();
+    private final UUID session = UUID.randomUUID();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        hits.incrementAndGet();
+        apiKey.set(ex.getRequestHeaders().getFirst("X-API-Key"));
+        requestBody.set(new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", contentType);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static MessageDto message(String role, String content) {
+        return new MessageDto(null, role, content, null);
+    }
+
+    private HttpAssistantClient client(int failureThreshold) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        AssistantProperties props = new AssistantProperties(
+                true, baseUrl, "secret", null, 1000L, 2000L, 4, 100L, failureThreshold, 60000L, 140);
+        return new HttpAssistantClient(props, templates, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void replyReturnsCompletionContent() {
+        body = """
+                {"choices":[{"index":0,"message":{"role":"assistant","content":"안녕하세요, 반가워요."}}]}
+                """;
+
+        String reply = client(3).reply(session, "sys", List.of(), "안녕");
+
+        assertThat(reply).isEqualTo("안녕하세요, 반가워요.");
+        assertThat(apiKey.get()).isEqualTo("secret");
+    }
+
+    @Test
+    void requestCarriesPerSessionUser() throws Exception {
+        body = """
+                {"choices":[{"index":0,"message":{"role":"assistant","content":"네."}}]}
+                """;
+        HttpAssistantClient client = client(3);
+        ObjectMapper json = new ObjectMapper();
+
+        client.reply(session, "sys", List.of(), "안녕");
+        assertThat(json.readTree(requestBody.get()).path("user").asText()).isEqualTo("chat-" + session);
+
+        // 요약 호출은 대화 기록과 섞이지 않도록 별도 값
+        client.summarize(session, null, List.of());
+        assertThat(json.readTree(requestBody.get()).path("user").asText()).isEqualTo("chat-" + session + "-summary");
+        assertThat(json.readTree(requestBody.get()).path("client_history").asBoolean()).isTrue(); // 이전 요약 프롬프트가 쌓이지 않음
+
+        UUID other = UUID.randomUUID();
+        client.reply(other, "sys", List.of(), "안녕");
+        assertThat(json.readTree(requestBody.get()).path("user").asText()).isEqualTo("chat-" + other);
+    }
+
+    @Test
+    void conversationIsSentOnceWithoutServerHistory() throws Exception {
+        body = """
+                {"choices":[{"index":0,"message":{"role":"assistant","content":"네."}}]}
+                """;
+        List<MessageDto> history = List.of(
+                message("USER", "요즘 잠을 못 자요"),
+                message("ASSISTANT", "언제부터 그랬어요?"),
+                message("USER", "일주일쯤 됐어요")); // 방금 저장된 사용자 메시지
+
+        client(3).reply(session, "sys", history, "일주일쯤 됐어요");
+
+        JsonNode sent = new ObjectMapper().readTree(requestBody.get());
+        assertThat(sent.path("client_history").asBoolean()).isTrue();
+        List<String> contents = new ArrayList<>();
+        sent.path("messages").forEach(m -> contents.add(m.path("role").asText() + ":" + m.path("content").asText()));
+        assertThat(contents).containsExactly(
+                "system:sys",
+                "user:요즘 잠을 못 자요",
+                "assistant:언제부터 그랬어요?",
+                "user:일주일쯤 됐어요");
+        assertThat(contents).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void streamEmitsDeltaChunks() {
+        contentType = "text/event-stream";
+        body = """
+                data: {"choices":[{"index":0,"delta":{"role":"assistant","content":""}}]}
+
+                data: {"choices":[{"index":0,"delta":{"content":"오늘 "}}]}
+
+                data: {"choices":[{"index":0,"delta":{"content":"어땠어요?"}}]}
+
+                data: [DONE]
+
+                """;
+        List<String> chunks = new ArrayList<>();
+
+        String reply = client(3).stream(session, "sys", List.of(), "안녕", chunks::add);
+
+        assertThat(chunks).containsExactly("오늘 ", "어땠어요?");
+        assertThat(reply).isEqualTo("오늘 어땠어요?");
+    }
+
+    @Test
+    void failuresFallBackToTemplatesAndOpenCircuit() {
+        status = 500;
+        body = "{}";
+        HttpAssistantClient client = client(2);
+        String expected = templates.reply(session, "sys", List.of(), "안녕하세요");
+
+        assertThat(client.reply(session, "sys", List.of(), "안녕하세요")).isEqualTo(expected);
+        assertThat(client.reply(session, "sys", List.of(), "안녕하세요")).isEqualTo(expected);
+        assertThat(hits.get()).isEqualTo(2);
+
+        // 차단 중에는 원격 호출 없이 바로 폴백
+        assertThat(client.reply(session, "sys", List.of(), "안녕하세요")).isEqualTo(expected);
+        assertThat(hits.get()).isEqualTo(2);
+    }
+}
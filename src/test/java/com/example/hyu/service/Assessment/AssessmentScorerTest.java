@@ -0,0 +1,106 @@
+package com.example.hyu.service.Assessment;
+
+import com.example.hyu.entity.Assessment;
+import com.example.hyu.entity.AssessmentSubmission.RiskLevel;
+import com.example.hyu.repository.Assessment.AssessmentAnswerRepository.AnswerValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssessmentScorerTest {
+
+    private static final long[] IDS = {10L, 20L, 30L, 40L}; // orderNo 1~4, 둘째 문항이 역문항
+
+    // 척도 0~3, 4문항 → 총점 0~12: 0~3 / 4~7 / 8~10 / (11 빈 구간) / 12
+    private final AssessmentSnapshot snapshot = new AssessmentSnapshot(
+            1L, "TEST", "테스트", "mood", null, Assessment.Status.ACTIVE, 3,
+            List.of(
+                    new AssessmentSnapshot.Question(40L, 4, "넷째", false),
+                    new AssessmentSnapshot.Question(20L, 2, "둘째", true),
+                    new AssessmentSnapshot.Question(10L, 1, "첫째", false),
+                    new AssessmentSnapshot.Question(30L, 3, "셋째", false)),
+            List.of(
+                    band(0, 3, RiskLevel.MILD),
+                    band(4, 7, RiskLevel.MODERATE),
+                    band(8, 10, RiskLevel.RISK),
+                    band(12, 12, RiskLevel.HIGH_RISK)));
+
+    @Test
+    void scoresWithReversedItemsAcrossBandEdges() {
+        // 응답(문항 순서) → 총점, 구간 (역문항은 3 - 값)
+        Object[][] cases = {
+                {new int[]{0, 3, 0, 0}, 0, RiskLevel.MILD},
+                {new int[]{0, 0, 0, 0}, 3, RiskLevel.MILD},
+                {new int[]{1, 0, 0, 0}, 4, RiskLevel.MODERATE},
+                {new int[]{3, 0, 1, 0}, 7, RiskLevel.MODERATE},
+                {new int[]{3, 0, 2, 0}, 8, RiskLevel.RISK},
+                {new int[]{3, 1, 3, 1}, 9, RiskLevel.RISK},
+                {new int[]{3, 0, 3, 1}, 10, RiskLevel.RISK},
+                {new int[]{3, 0, 3, 3}, 12, RiskLevel.HIGH_RISK},
+        };
+        for (Object[] c : cases) {
+            int[] values = (int[]) c[0];
+            AssessmentScorer.Result r = AssessmentScorer.score(snapshot, answers(values));
+            assertThat(r.total()).as("values %s", Arrays.toString(values)).isEqualTo(c[1]);
+            assertThat(r.band().level()).as("values %s", Arrays.toString(values)).isEqualTo(c[2]);
+        }
+    }
+
+    @Test
+    void scoreInBandGapFails() {
+        assertThatThrownBy(() -> AssessmentScorer.score(snapshot, answers(new int[]{3, 0, 3, 2})))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("11");
+    }
+
+    @Test
+    void rejectsValuesOutsideScale() {
+        Integer[] invalid = {-1, 4, null};
+        for (Integer v : invalid) {
+            List<Answer> answers = new ArrayList<>(answers(new int[]{0, 0, 0}));
+            answers.add(new Answer(40L, v));
+            assertThatThrownBy(() -> AssessmentScorer.score(snapshot, answers))
+                    .as("value %s", v)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void incompleteAnswersFail() {
+        assertThatThrownBy(() -> AssessmentScorer.score(snapshot, answers(new int[]{1, 1, 1})))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("answered=3");
+        assertThatThrownBy(() -> AssessmentScorer.score(snapshot, List.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void ignoresAnswersToRemovedQuestionsAndAnswerOrder() {
+        List<Answer> answers = new ArrayList<>(answers(new int[]{1, 2, 3, 0}));
+        answers.add(new Answer(99L, 3));      // 교체 전 문항 → 제외
+        answers.add(new Answer(77L, 9));      // 척도 밖이어도 소속 문항이 아니면 검사 안 함
+        List<Answer> reversed = new ArrayList<>(answers);
+        Collections.reverse(reversed);
+
+        assertThat(AssessmentScorer.score(snapshot, answers).total()).isEqualTo(5);
+        assertThat(AssessmentScorer.score(snapshot, reversed).total()).isEqualTo(5);
+    }
+
+    private record Answer(Long getQuestionId, Integer getValue) implements AnswerValue {}
+
+    private static List<Answer> answers(int[] values) {
+        List<Answer> list = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) list.add(new Answer(IDS[i], values[i]));
+        return list;
+    }
+
+    private static AssessmentSnapshot.Band band(int min, int max, RiskLevel level) {
+        return new AssessmentSnapshot.Band(min, max, level, level.name(), null, null);
+    }
+}
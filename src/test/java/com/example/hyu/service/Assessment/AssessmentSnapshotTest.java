@@ -0,0 +1,99 @@
+package com.example.hyu.service.Assessment;
+
+import com.example.hyu.entity.Assessment;
+import com.example.hyu.entity.AssessmentSubmission.RiskLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssessmentSnapshotTest {
+
+    // 0~4 / 5~9 / 10~14 / (15~16 빈 구간) / 17~27 — 입력 순서를 섞어 정렬도 확인
+    private final AssessmentSnapshot snapshot = snapshot(List.of(
+            band(10, 14, RiskLevel.RISK),
+            band(0, 4, RiskLevel.MILD),
+            band(17, 27, RiskLevel.HIGH_RISK),
+            band(5, 9, RiskLevel.MODERATE)));
+
+    @Test
+    void findBandAtEdgesAndInsideBands() {
+        Object[][] cases = {
+                {0, RiskLevel.MILD},
+                {2, RiskLevel.MILD},
+                {4, RiskLevel.MILD},
+                {5, RiskLevel.MODERATE},
+                {9, RiskLevel.MODERATE},
+                {10, RiskLevel.RISK},
+                {14, RiskLevel.RISK},
+                {17, RiskLevel.HIGH_RISK},
+                {27, RiskLevel.HIGH_RISK},
+        };
+        for (Object[] c : cases) {
+            int score = (int) c[0];
+            assertThat(snapshot.findBand(score))
+                    .as("score %d", score)
+                    .hasValueSatisfying(b -> assertThat(b.level()).isEqualTo(c[1]));
+        }
+    }
+
+    @Test
+    void findBandIsEmptyInGapsAndOutsideRange() {
+        for (int score : new int[]{-1, 15, 16, 28, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            assertThat(snapshot.findBand(score)).as("score %d", score).isEmpty();
+        }
+        assertThat(snapshot(List.of()).findBand(0)).isEmpty();
+    }
+
+    @Test
+    void findBandWithSingleBand() {
+        AssessmentSnapshot single = snapshot(List.of(band(3, 3, RiskLevel.RISK)));
+        Object[][] cases = {{2, null}, {3, RiskLevel.RISK}, {4, null}};
+        for (Object[] c : cases) {
+            int score = (int) c[0];
+            assertThat(single.findBand(score).map(AssessmentSnapshot.Band::level).orElse(null))
+                    .as("score %d", score)
+                    .isEqualTo(c[1]);
+        }
+    }
+
+    @Test
+    void bandsAndQuestionsAreSorted() {
+        assertThat(snapshot.getBands()).extracting(AssessmentSnapshot.Band::minScore).containsExactly(0, 5, 10, 17);
+
+        assertThat(snapshot.indexOf(30L)).isZero();
+        assertThat(snapshot.indexOf(10L)).isEqualTo(1);
+        assertThat(snapshot.indexOf(20L)).isEqualTo(2);
+        assertThat(snapshot.indexOf(99L)).isEqualTo(-1);
+        assertThat(snapshot.isReverse(1)).isTrue();
+        assertThat(snapshot.isReverse(0)).isFalse();
+    }
+
+    @Test
+    void validValuesFollowScaleBounds() {
+        Object[][] cases = {
+                {null, false},
+                {-1, false},
+                {0, true},
+                {3, true},
+                {4, false},
+        };
+        for (Object[] c : cases) {
+            assertThat(snapshot.isValidValue((Integer) c[0])).as("value %s", c[0]).isEqualTo(c[1]);
+        }
+    }
+
+    private static AssessmentSnapshot snapshot(List<AssessmentSnapshot.Band> bands) {
+        return new AssessmentSnapshot(1L, "TEST", "테스트", "mood", null, Assessment.Status.ACTIVE, 3,
+                List.of(
+                        new AssessmentSnapshot.Question(10L, 2, "둘째", true),
+                        new AssessmentSnapshot.Question(20L, 3, "셋째", false),
+                        new AssessmentSnapshot.Question(30L, 1, "첫째", false)),
+                bands);
+    }
+
+    private static AssessmentSnapshot.Band band(int min, int max, RiskLevel level) {
+        return new AssessmentSnapshot.Band(min, max, level, level.name(), null, null);
+    }
+}
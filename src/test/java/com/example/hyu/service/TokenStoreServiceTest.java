@@ -0,0 +1,195 @@
+package com.example.hyu.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 Redis(test 프로필): 발급/회전/폐기/스윕 Lua 스크립트의 원자성과 인덱스 정리
+@ActiveProfiles("test")
+@SpringBootTest
+class TokenStoreServiceTest {
+
+    @Autowired TokenStoreService store;
+    @Autowired StringRedisTemplate redis;
+
+    private final List<Long> users = new ArrayList<>();
+
+    @BeforeEach
+    void smallDeviceCap() {
+        ReflectionTestUtils.setField(store, "maxDevices", 3);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(store, "maxDevices", 10);
+        for (Long userId : users) {
+            if (redis.type(rtu(userId)) == DataType.ZSET) {
+                Set<String> members = redis.opsForZSet().range(rtu(userId), 0, -1);
+                if (members != null) members.forEach(h -> redis.delete("rt:" + h));
+            }
+            redis.delete(rtu(userId));
+        }
+    }
+
+    @Test
+    void issueStoresOwnerAndIndexesByExpiry() {
+        Long userId = newUser();
+        long before = System.currentTimeMillis();
+
+        String raw = store.issueRefresh(userId, "ROLE_USER", "a@b.c");
+
+        TokenStoreService.UserTokenOwner owner = store.checkRefresh(raw).orElseThrow();
+        assertThat(owner.userId()).isEqualTo(userId);
+        assertThat(owner.role()).isEqualTo("ROLE_USER");
+        assertThat(owner.email()).isEqualTo("a@b.c");
+        Double score = redis.opsForZSet().score(rtu(userId), owner.hash());
+        assertThat(score).isNotNull().isGreaterThan((double) before); // 점수 = 만료 시각
+        assertThat(redis.getExpire(rtu(userId))).isPositive();
+    }
+
+    @Test
+    void rotateConsumesTheOldTokenExactlyOnce() {
+        Long userId = newUser();
+        String raw = store.issueRefresh(userId, "ROLE_USER", null);
+        String oldHash = store.checkRefresh(raw).orElseThrow().hash();
+
+        TokenStoreService.Rotation rotation = store.rotateRefresh(raw).orElseThrow();
+
+        assertThat(rotation.owner().userId()).isEqualTo(userId);
+        assertThat(rotation.owner().email()).isNull();
+        assertThat(store.checkRefresh(raw)).isEmpty();
+        assertThat(store.checkRefresh(rotation.refreshRaw())).isPresent();
+        assertThat(redis.opsForZSet().range(rtu(userId), 0, -1)).containsExactly(rotation.owner().hash());
+        assertThat(redis.opsForZSet().score(rtu(userId), oldHash)).isNull();
+
+        // 재사용 → 아무것도 바꾸지 않음
+        assertThat(store.rotateRefresh(raw)).isEmpty();
+        assertThat(store.checkRefresh(rotation.refreshRaw())).isPresent();
+        assertThat(store.rotateRefresh("rt.unknown")).isEmpty();
+    }
+
+    @Test
+    void concurrentRotationsOfOneTokenHaveASingleWinner() throws Exception {
+        Long userId = newUser();
+        String raw = store.issueRefresh(userId, "ROLE_USER", null);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Optional<TokenStoreService.Rotation>>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) calls.add(() -> store.rotateRefresh(raw));
+            long winners = 0;
+            for (Future<Optional<TokenStoreService.Rotation>> f : pool.invokeAll(calls)) {
+                if (f.get().isPresent()) winners++;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(redis.opsForZSet().size(rtu(userId))).isEqualTo(1);
+    }
+
+    @Test
+    void deviceCapDropsTheOldestTokens() {
+        Long userId = newUser();
+        List<String> raws = new ArrayList<>();
+        for (int i = 0; i < 5; i++) raws.add(store.issueRefresh(userId, "ROLE_USER", null));
+
+        assertThat(store.checkRefresh(raws.get(0))).isEmpty();
+        assertThat(store.checkRefresh(raws.get(1))).isEmpty();
+        for (String raw : raws.subList(2, 5)) assertThat(store.checkRefresh(raw)).isPresent();
+        assertThat(redis.opsForZSet().size(rtu(userId))).isEqualTo(3);
+
+        // 회전도 같은 제한 → 인덱스 크기 유지
+        store.rotateRefresh(raws.get(2)).orElseThrow();
+        assertThat(redis.opsForZSet().size(rtu(userId))).isEqualTo(3);
+    }
+
+    @Test
+    void revokeOneRemovesTokenAndIndexMember() {
+        Long userId = newUser();
+        String keep = store.issueRefresh(userId, "ROLE_USER", null);
+        String drop = store.issueRefresh(userId, "ROLE_USER", null);
+        TokenStoreService.UserTokenOwner owner = store.checkRefresh(drop).orElseThrow();
+
+        store.revokeRefresh(owner, false);
+
+        assertThat(store.checkRefresh(drop)).isEmpty();
+        assertThat(store.checkRefresh(keep)).isPresent();
+        assertThat(redis.opsForZSet().score(rtu(userId), owner.hash())).isNull();
+        assertThat(redis.opsForZSet().size(rtu(userId))).isEqualTo(1);
+    }
+
+    @Test
+    void revokeAllRemovesEveryTokenAndTheIndex() {
+        Long userId = newUser();
+        List<String> raws = List.of(
+                store.issueRefresh(userId, "ROLE_USER", null),
+                store.issueRefresh(userId, "ROLE_USER", null),
+                store.issueRefresh(userId, "ROLE_USER", null));
+
+        store.revokeRefresh(store.checkRefresh(raws.get(0)).orElseThrow(), true);
+
+        for (String raw : raws) assertThat(store.checkRefresh(raw)).isEmpty();
+        assertThat(redis.hasKey(rtu(userId))).isFalse();
+    }
+
+    @Test
+    void sweepPrunesExpiredMembersAndDeletesEmptyIndexes() {
+        long now = System.currentTimeMillis();
+        Long live = newUser();
+        Long dead = newUser();
+        String liveRaw = store.issueRefresh(live, "ROLE_USER", null);
+        String liveHash = store.checkRefresh(liveRaw).orElseThrow().hash();
+        redis.opsForZSet().add(rtu(live), "expired-live", now - 1_000);
+        redis.opsForZSet().add(rtu(dead), "expired-1", now - 2_000);
+        redis.opsForZSet().add(rtu(dead), "expired-2", now - 1_000);
+
+        store.sweepUserIndexes();
+
+        assertThat(redis.opsForZSet().range(rtu(live), 0, -1)).containsExactly(liveHash);
+        assertThat(redis.hasKey(rtu(dead))).isFalse();
+    }
+
+    @Test
+    void sweepMigratesLegacySetIndexes() {
+        Long userId = newUser();
+        redis.opsForValue().set("rt:legacy-live", userId + "|ROLE_USER|", Duration.ofMinutes(5));
+        redis.opsForSet().add(rtu(userId), "legacy-live", "legacy-gone"); // rt:legacy-gone은 이미 만료
+
+        store.sweepUserIndexes();
+
+        assertThat(redis.type(rtu(userId))).isEqualTo(DataType.ZSET);
+        assertThat(redis.opsForZSet().range(rtu(userId), 0, -1)).containsExactly("legacy-live");
+        Double score = redis.opsForZSet().score(rtu(userId), "legacy-live");
+        assertThat(score).isNotNull().isGreaterThan((double) System.currentTimeMillis()); // 남은 TTL로 만료 시각 복원
+    }
+
+    private Long newUser() {
+        Long userId = 900_000_000L + ThreadLocalRandom.current().nextInt(1_000_000);
+        users.add(userId);
+        return userId;
+    }
+
+    private static String rtu(Long userId) {
+        return "rtu:" + userId;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.hyu.service.chat;
+
+import com.example.hyu.dto.chat.MessageDto;
+import com.example.hyu.entity.ChatMessage;
+import com.example.hyu.entity.ChatSession;
+import com.example.hyu.repository.chat.ChatMessageArchiveRepository;
+import com.example.hyu.repository.chat.ChatMessageRepository;
+import com.example.hyu.repository.chat.ChatSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 MySQL(test 프로필)에서 보관 → 복원 왕복: 다건 네이티브 INSERT의 UUID/Instant 바인딩 확인
+@ActiveProfiles("test")
+@SpringBootTest(properties = "chat.archive.batch-size=3") // 청크 여러 개로 나뉘도록
+class ChatArchiverTest {
+
+    @Autowired ChatArchiver archiver;
+    @Autowired ChatSessionRepository sessions;
+    @Autowired ChatMessageRepository messages;
+    @Autowired ChatMessageArchiveRepository archives;
+    @Autowired TransactionTemplate tx;
+
+    @Test
+    void archiveThenRestoreKeepsIdsRolesContentAndTimestamps() {
+        Long userId = 4242L;
+        UUID sessionId = tx.execute(status -> {
+            ChatSession s = sessions.save(ChatSession.builder().userId(userId).build());
+            ChatMessage.Role[] roles = {
+                    ChatMessage.Role.SYSTEM, ChatMessage.Role.USER, ChatMessage.Role.ASSISTANT,
+                    ChatMessage.Role.USER, ChatMessage.Role.ASSISTANT, ChatMessage.Role.SUMMARY,
+                    ChatMessage.Role.USER};
+            for (int i = 0; i < roles.length; i++) {
+                messages.save(ChatMessage.builder()
+                        .session(s)
+                        .userId(userId)
+                        .role(roles[i])
+                        .content("메시지 " + i + " — 'quote' \"dq\" 😀")
+                        .build());
+            }
+            return s.getId();
+        });
+        List<MessageDto> before = dump(sessionId);
+        assertThat(before).hasSize(7);
+
+        long moved = archiver.archiveSession(sessionId, Instant.now().plus(Duration.ofDays(1)));
+
+        assertThat(moved).isEqualTo(7);
+        assertThat(dump(sessionId)).isEmpty();
+        assertThat(archivedChunks(sessionId)).isEqualTo(3);
+        assertThat(sessions.findArchiveState(sessionId, userId)).contains(ChatSession.ArchiveState.ARCHIVED);
+
+        // 다른 사용자는 복원 불가
+        archiver.restoreIfArchived(sessionId, userId + 1);
+        assertThat(dump(sessionId)).isEmpty();
+
+        archiver.restoreIfArchived(sessionId, userId);
+
+        assertThat(dump(sessionId)).containsExactlyElementsOf(before); // ID/역할/내용/마이크로초 시각 그대로
+        assertThat(archivedChunks(sessionId)).isZero();
+        assertThat(sessions.findArchiveState(sessionId, userId)).isEmpty();
+        assertThat(sessions.findById(sessionId).orElseThrow().getStatus()).isEqualTo(ChatSession.Status.OPEN);
+
+        // 복원 후 재호출은 상태 조회만
+        archiver.restoreIfArchived(sessionId, userId);
+        assertThat(dump(sessionId)).containsExactlyElementsOf(before);
+    }
+
+    private int archivedChunks(UUID sessionId) {
+        return tx.execute(status -> archives.findForRestore(sessionId).size()); // 잠금 읽기 → 트랜잭션 안에서
+    }
+
+    private List<MessageDto> dump(UUID sessionId) {
+        return tx.execute(status -> messages.findBySession_IdOrderByIdAsc(sessionId, PageRequest.of(0, 100)).stream()
+                .map(m -> new MessageDto(m.getId(), m.getRole().name(), m.getContent(), m.getCreatedAt()))
+                .toList());
+    }
+}
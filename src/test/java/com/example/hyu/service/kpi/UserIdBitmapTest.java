@@ -0,0 +1,62 @@
+package com.example.hyu.service.kpi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserIdBitmapTest {
+
+    @Test
+    void bytesRoundTripKeepsMembers() {
+        UserIdBitmap b = UserIdBitmap.empty();
+        for (long id : new long[]{0, 1, 63, 64, 65, 1_000, 5_000_000}) b.add(id);
+        b.add(64); // 중복은 한 번만
+
+        UserIdBitmap back = UserIdBitmap.fromBytes(b.toBytes());
+
+        assertThat(back.cardinality()).isEqualTo(7);
+        assertThat(UserIdBitmap.empty().or(back).or(b).cardinality()).isEqualTo(7); // 같은 집합 합집합 → 그대로
+    }
+
+    @Test
+    void emptyAndNullPayloadsAreEmptySets() {
+        assertThat(UserIdBitmap.fromBytes(null).cardinality()).isZero();
+        assertThat(UserIdBitmap.fromBytes(new byte[0]).cardinality()).isZero();
+        assertThat(UserIdBitmap.fromBytes(UserIdBitmap.empty().toBytes()).cardinality()).isZero();
+    }
+
+    @Test
+    void orMatchesSetUnionOnRandomDays() {
+        Random rnd = new Random(11);
+        Set<Long> expected = new HashSet<>();
+        UserIdBitmap month = UserIdBitmap.empty();
+        for (int day = 0; day < 31; day++) {
+            UserIdBitmap daily = UserIdBitmap.empty();
+            for (int i = 0; i < 200; i++) {
+                long id = 1 + rnd.nextInt(3_000);
+                daily.add(id);
+                expected.add(id);
+            }
+            month.or(UserIdBitmap.fromBytes(daily.toBytes())); // 저장 → 읽기 → 합집합 (롤업 경로와 동일)
+        }
+        assertThat(month.cardinality()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void rejectsIdsOutsideBitmapRange() {
+        UserIdBitmap b = UserIdBitmap.empty();
+        assertThatThrownBy(() -> b.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> b.add((long) Integer.MAX_VALUE + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void corruptedPayloadFailsLoudly() {
+        assertThatThrownBy(() -> UserIdBitmap.fromBytes(new byte[]{1, 2, 3, 4}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
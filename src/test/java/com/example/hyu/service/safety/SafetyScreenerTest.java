@@ -0,0 +1,98 @@
+package com.example.hyu.service.safety;
+
+import com.example.hyu.entity.TriggerEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SafetyScreenerTest {
+
+    private final SafetyScreener screener = new SafetyScreener(true);
+
+    @Test
+    void detectsSpacedAndZeroWidthVariants() {
+        var f = screener.screen("요즘 너무 힘들어서 죽 고 싶 다는 생각만 해요").orElseThrow();
+        assertThat(f.type()).isEqualTo(TriggerEvent.TriggerType.SUICIDE);
+        assertThat(f.risk()).isEqualTo(TriggerEvent.Risk.HIGH);
+        assertThat(f.level()).isEqualTo("high_risk");
+
+        assertThat(screener.screen("자​살")).isPresent();
+        assertThat(screener.screen("ＳＵＩＣＩＤＥ")).isPresent(); // 전각 → NFKC
+    }
+
+    @Test
+    void scoresByWeightAndType() {
+        var violence = screener.screen("그 사람을 해치고 싶어").orElseThrow();
+        assertThat(violence.type()).isEqualTo(TriggerEvent.TriggerType.VIOLENCE);
+        assertThat(violence.risk()).isEqualTo(TriggerEvent.Risk.MEDIUM);
+        assertThat(violence.level()).isEqualTo("risk");
+
+        var mild = screener.screen("그냥 사라지고 싶다").orElseThrow();
+        assertThat(mild.type()).isEqualTo(TriggerEvent.TriggerType.SUICIDE);
+        assertThat(mild.risk()).isEqualTo(TriggerEvent.Risk.LOW);
+        assertThat(mild.level()).isEqualTo("moderate");
+
+        // 같은 키워드 반복은 한 번만 점수에 반영
+        assertThat(screener.screen("사라지고 사라지고 사라지고").orElseThrow().score()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresNeutralTextAndDisabled() {
+        assertThat(screener.screen("오늘 산책했더니 기분이 좋아졌어요")).isEmpty();
+        assertThat(screener.screen("  ")).isEmpty();
+        assertThat(new SafetyScreener(false).screen("자살")).isEmpty();
+    }
+
+    @Test
+    void latinKeywordsNeedWordBoundaries() {
+        assertThat(screener.screen("I want to die.")).isPresent();
+        assertThat(screener.screen("sometimes I want to KILL   myself")).isPresent(); // 공백 여러 칸
+
+        assertThat(screener.screen("starting a new diet today")).isEmpty();
+        assertThat(screener.screen("I studied all night")).isEmpty();
+        assertThat(screener.screen("indie music helps")).isEmpty();
+        assertThat(screener.screen("kill my selfie stick")).isEmpty(); // 공백 제거로 생기던 교차 매칭
+    }
+
+    @Test
+    void ignoresKnownHangulCompounds() {
+        assertThat(screener.screen("점심은 칼국수 먹었어요")).isEmpty();
+        assertThat(screener.screen("칼 국수 맛집 다녀왔어요")).isEmpty();
+        assertThat(screener.screen("칼로리 계산이 스트레스예요")).isEmpty();
+        assertThat(screener.screen("오늘 칼퇴했어요")).isEmpty();
+
+        var knife = screener.screen("칼을 들고 싶어").orElseThrow();
+        assertThat(knife.type()).isEqualTo(TriggerEvent.TriggerType.VIOLENCE);
+        assertThat(knife.hits()).containsExactly("칼");
+    }
+
+    @Test
+    void automatonMatchesNaiveSearchOnOverlappingKeywords() {
+        Map<String, String> kws = new LinkedHashMap<>();
+        for (String k : List.of("he", "she", "his", "hers", "가나", "나다", "가나다라")) kws.put(k, k);
+        KeywordAutomaton<String> ac = KeywordAutomaton.build(kws);
+
+        Random rnd = new Random(7);
+        char[] alphabet = {'h', 'e', 's', 'i', 'r', '가', '나', '다', '라'};
+        for (int round = 0; round < 200; round++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 64; i++) sb.append(alphabet[rnd.nextInt(alphabet.length)]);
+            String text = sb.toString();
+
+            List<String> expected = new ArrayList<>();
+            for (int end = 1; end <= text.length(); end++) {
+                for (String k : kws.keySet()) {
+                    if (end >= k.length() && text.startsWith(k, end - k.length())) expected.add(k);
+                }
+            }
+            List<String> actual = ac.findAll(text).stream().map(KeywordAutomaton.Match::keyword).toList();
+            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hyu.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripKeepsMicrosecondPrecision() {
+        // datetime(6) 컬럼: 같은 밀리초 안의 두 행이 커서에서 구분되어야 함
+        Instant a = Instant.parse("2026-10-17T06:17:43.123456Z");
+        Instant b = Instant.parse("2026-10-17T06:17:43.123789Z");
+
+        CursorCodec.Parsed pa = CursorCodec.decode(CursorCodec.encode(a, 41L));
+        CursorCodec.Parsed pb = CursorCodec.decode(CursorCodec.encode(b, 42L));
+
+        assertThat(pa.publishedAt()).isEqualTo(a);
+        assertThat(pa.id()).isEqualTo(41L);
+        assertThat(pb.publishedAt()).isEqualTo(b);
+        assertThat(pa.publishedAt()).isBefore(pb.publishedAt());
+    }
+
+    @Test
+    void roundTripWholeMillisAndUuid() {
+        Instant at = Instant.ofEpochMilli(1_792_000_000_000L);
+        UUID id = UUID.randomUUID();
+
+        assertThat(CursorCodec.decode(CursorCodec.encode(at, 7L)).publishedAt()).isEqualTo(at);
+
+        CursorCodec.UuidParsed p = CursorCodec.decodeUuid(CursorCodec.encode(at.plusNanos(1_000), id));
+        assertThat(p.at()).isEqualTo(at.plusNanos(1_000));
+        assertThat(p.id()).isEqualTo(id);
+    }
+
+    @Test
+    void decodesLegacyMillisecondCursor() {
+        String legacy = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1792000000123:9".getBytes(StandardCharsets.UTF_8));
+
+        CursorCodec.Parsed p = CursorCodec.decode(legacy);
+
+        assertThat(p.publishedAt()).isEqualTo(Instant.ofEpochMilli(1_792_000_000_123L));
+        assertThat(p.id()).isEqualTo(9L);
+    }
+}